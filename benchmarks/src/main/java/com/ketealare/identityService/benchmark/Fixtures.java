@@ -0,0 +1,117 @@
+package com.ketealare.identityService.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import com.ketealare.identityService.audit.AuditTrail;
+import com.ketealare.identityService.audit.OverflowPolicy;
+import com.ketealare.identityService.entity.Permission;
+import com.ketealare.identityService.entity.Role;
+import com.ketealare.identityService.entity.User;
+import com.ketealare.identityService.repository.UserRepository;
+import com.ketealare.identityService.revocation.InMemoryRevocationStore;
+import com.ketealare.identityService.revocation.RevocationStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// In-memory stand-ins for the database, so benchmarks measure CPU work only and run offline
+public final class Fixtures {
+
+    public static final String SIGNER_KEY = "hhT9T2pFyqphFnUstL8OPqs6WXqm0odQYc8A7ATS1xwPJQlOJXgjCzZ+GqGR4fiB";
+
+    private Fixtures() {}
+
+    public static User user(int roles, int permissionsPerRole) {
+        Set<Role> roleSet = new HashSet<>();
+        for (int r = 0; r < roles; r++) {
+            Set<Permission> permissions = new HashSet<>();
+            for (int p = 0; p < permissionsPerRole; p++) {
+                permissions.add(Permission.builder()
+                        .name("PERMISSION_" + r + "_" + p)
+                        .description("Permission " + p + " of role " + r)
+                        .build());
+            }
+
+            roleSet.add(Role.builder()
+                    .name("ROLE_" + r)
+                    .description("Role " + r)
+                    .permissions(permissions)
+                    .build());
+        }
+
+        return User.builder()
+                .id(UUID.randomUUID())
+                .username("benchmark")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1S0G2JtZOaU7lIkNfd/tVbS")
+                .firstName("Bench")
+                .lastName("Mark")
+                .dob(LocalDate.of(1990, 1, 1))
+                .roles(roleSet)
+                .build();
+    }
+
+    public static UserRepository userRepository(User user) {
+        return stub(
+                UserRepository.class,
+                Map.of(
+                        "findByUsername", args -> Optional.of(user),
+                        "existsByUsername", args -> true));
+    }
+
+    // Nothing is revoked, so verification always reaches the revocation lookup
+    public static RevocationStore revocationStore() {
+        return new InMemoryRevocationStore();
+    }
+
+    // Started with a sink that discards, so request paths pay the enqueue cost only
+    public static AuditTrail auditTrail() {
+        AuditTrail auditTrail = new AuditTrail(
+                events -> {},
+                new SimpleMeterRegistry(),
+                8192,
+                256,
+                Duration.ofMillis(200),
+                OverflowPolicy.DROP,
+                Duration.ZERO);
+        auditTrail.start();
+
+        return auditTrail;
+    }
+
+    public static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name, e);
+        }
+    }
+
+    private static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) return answer.apply(args);
+
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        });
+
+        return type.cast(proxy);
+    }
+}
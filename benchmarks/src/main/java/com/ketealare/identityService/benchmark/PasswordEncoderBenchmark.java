@@ -0,0 +1,38 @@
+package com.ketealare.identityService.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// BCrypt doubles in cost per step, SecurityConfig uses 10
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    @Param({"4", "8", "10", "12"})
+    int cost;
+
+    BCryptPasswordEncoder encoder;
+    String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(cost);
+        hash = encoder.encode("12345678");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("12345678");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("12345678", hash);
+    }
+}
@@ -0,0 +1,43 @@
+package com.ketealare.identityService.configuration;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import com.ketealare.identityService.benchmark.Fixtures;
+import com.ketealare.identityService.entity.User;
+import com.ketealare.identityService.metrics.AuthenticationMetrics;
+import com.ketealare.identityService.service.AuthenticationService;
+import com.ketealare.identityService.service.AuthenticationServiceFixture;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Full bearer token decoding of an authenticated request: introspection plus Spring's NimbusJwtDecoder
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtDecoderBenchmark {
+
+    CustomJwtDecoder decoder;
+    String token;
+
+    @Setup
+    public void setUp() {
+        User user = Fixtures.user(2, 10);
+        AuthenticationService authenticationService = AuthenticationServiceFixture.create(user);
+
+        decoder = new CustomJwtDecoder(authenticationService, new AuthenticationMetrics(new SimpleMeterRegistry()));
+        Fixtures.setField(decoder, "signerKey", Fixtures.SIGNER_KEY);
+
+        token = AuthenticationServiceFixture.token(authenticationService, user);
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return decoder.decode(token);
+    }
+}
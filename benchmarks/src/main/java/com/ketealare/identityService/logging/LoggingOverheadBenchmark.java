@@ -0,0 +1,106 @@
+package com.ketealare.identityService.logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import net.logstash.logback.encoder.LogstashEncoder;
+
+/*
+ * Logging cost per request on the request thread, with the appender set up like logback-spring.xml in prod.
+ * legacyLogs is what GET /users used to write (username and one line per authority), the others are the
+ * access log line written for every request and at the default 1% sample. Run with several threads (-t) to
+ * see contention on the synchronous appender. The async appender drops INFO once its queue is 80% full,
+ * so under sustained overload its numbers are the cost of dropping, which is also what production pays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingOverheadBenchmark {
+
+    static final List<String> AUTHORITIES = List.of(
+            "ROLE_ADMIN", "CREATE_DATA", "UPDATE_DATA", "DELETE_DATA", "ROLE_USER", "APPROVE_POST", "REJECT_POST");
+
+    @Param({"sync", "async"})
+    String appender;
+
+    LoggerContext loggerContext;
+    Logger logger;
+    AccessLog everyRequest;
+    AccessLog sampled;
+    File logFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = File.createTempFile("logging-benchmark", ".log");
+        logFile.deleteOnExit();
+
+        loggerContext = new LoggerContext();
+
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(loggerContext);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(loggerContext);
+        file.setFile(logFile.getAbsolutePath());
+        file.setEncoder(encoder);
+        file.start();
+
+        logger = loggerContext.getLogger("benchmark");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender.equals("async") ? async(file) : file);
+
+        everyRequest = new AccessLog(logger, 1.0, Duration.ofMillis(500));
+        sampled = new AccessLog(logger, 0.01, Duration.ofMillis(500));
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+        logFile.delete();
+    }
+
+    @Benchmark
+    public void legacyLogs() {
+        logger.info("Username: {}", "admin");
+        AUTHORITIES.forEach(logger::info);
+    }
+
+    @Benchmark
+    public void accessLogEveryRequest() {
+        everyRequest.record("GET", "/identity/users/myInfo", 200, 1_250_000);
+    }
+
+    @Benchmark
+    public void accessLogSampled() {
+        sampled.record("GET", "/identity/users/myInfo", 200, 1_250_000);
+    }
+
+    private Appender<ILoggingEvent> async(Appender<ILoggingEvent> target) {
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(loggerContext);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.setIncludeCallerData(false);
+        async.addAppender(target);
+        async.start();
+
+        return async;
+    }
+}
@@ -0,0 +1,38 @@
+package com.ketealare.identityService.mapper;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.ketealare.identityService.benchmark.Fixtures;
+import com.ketealare.identityService.dto.response.UserResponse;
+import com.ketealare.identityService.entity.User;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    @Param({"1", "10"})
+    int roles;
+
+    @Param({"5", "50"})
+    int permissionsPerRole;
+
+    UserMapper userMapper;
+    User user;
+
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapperImpl();
+        user = Fixtures.user(roles, permissionsPerRole);
+    }
+
+    @Benchmark
+    public UserResponse toUserResponse() {
+        return userMapper.toUserResponse(user);
+    }
+}
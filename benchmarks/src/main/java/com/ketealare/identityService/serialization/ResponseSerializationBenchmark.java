@@ -0,0 +1,103 @@
+package com.ketealare.identityService.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.ketealare.identityService.benchmark.Fixtures;
+import com.ketealare.identityService.dto.response.ApiResponse;
+import com.ketealare.identityService.dto.response.IntrospectResponse;
+import com.ketealare.identityService.dto.response.UserResponse;
+import com.ketealare.identityService.exception.ErrorCode;
+import com.ketealare.identityService.mapper.UserMapperImpl;
+
+/*
+ * Cost of writing one response body into a reused buffer, the way the servlet output stream is written.
+ * Run with the GC profiler to get bytes allocated per request:
+ *     java -jar benchmarks/target/benchmarks.jar ResponseSerializationBenchmark -prof gc
+ * and compare gc.alloc.rate.norm between the reflective, Blackbird and precomputed variants.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    ObjectMapper reflective;
+    ObjectMapper blackbird;
+    PrecomputedResponses precomputedResponses;
+
+    UserResponse userResponse;
+    ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+        reflective = objectMapper();
+        blackbird = objectMapper().registerModule(new BlackbirdModule());
+        precomputedResponses = new PrecomputedResponses(blackbird);
+
+        userResponse = new UserMapperImpl().toUserResponse(Fixtures.user(2, 5));
+        out = new ByteArrayOutputStream(8 * 1024);
+    }
+
+    @Benchmark
+    public int introspectReflective() throws IOException {
+        return write(reflective, ApiResponse.<IntrospectResponse>builder()
+                .result(IntrospectResponse.builder().valid(false).build())
+                .build());
+    }
+
+    @Benchmark
+    public int introspectPrecomputed() throws IOException {
+        return write(precomputedResponses.introspect(false));
+    }
+
+    @Benchmark
+    public int errorReflective() throws IOException {
+        return write(reflective, ApiResponse.builder()
+                .code(ErrorCode.UNAUTHENTICATED.getCode())
+                .message(ErrorCode.UNAUTHENTICATED.getMessage())
+                .build());
+    }
+
+    @Benchmark
+    public int errorPrecomputed() throws IOException {
+        return write(precomputedResponses.error(ErrorCode.UNAUTHENTICATED));
+    }
+
+    @Benchmark
+    public int userReflective() throws IOException {
+        return write(reflective, ApiResponse.<UserResponse>builder().result(userResponse).build());
+    }
+
+    @Benchmark
+    public int userBlackbird() throws IOException {
+        return write(blackbird, ApiResponse.<UserResponse>builder().result(userResponse).build());
+    }
+
+    private int write(ObjectMapper objectMapper, Object body) throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, body);
+        return out.size();
+    }
+
+    private int write(byte[] body) {
+        out.reset();
+        out.write(body, 0, body.length);
+        return out.size();
+    }
+
+    private static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
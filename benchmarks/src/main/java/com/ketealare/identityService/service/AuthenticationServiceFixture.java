@@ -0,0 +1,33 @@
+package com.ketealare.identityService.service;
+
+import com.ketealare.identityService.benchmark.Fixtures;
+import com.ketealare.identityService.entity.User;
+import com.ketealare.identityService.metrics.AuthenticationMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Builds an AuthenticationService the way Spring would, with a stub repository and an in-memory revocation store
+public final class AuthenticationServiceFixture {
+
+    private AuthenticationServiceFixture() {}
+
+    public static AuthenticationService create(User user) {
+        AuthenticationService service = new AuthenticationService(
+                Fixtures.userRepository(user),
+                Fixtures.revocationStore(),
+                new AuthenticationMetrics(new SimpleMeterRegistry()),
+                Fixtures.auditTrail(),
+                event -> {});
+
+        service.SIGNER_KEY = Fixtures.SIGNER_KEY;
+        service.VALID_DURATION = 3600;
+        service.REFRESH_DURATION = 36000;
+        service.createVerifier();
+
+        return service;
+    }
+
+    public static String token(AuthenticationService service, User user) {
+        return service.generateToken(user);
+    }
+}
@@ -0,0 +1,80 @@
+package com.ketealare.identityService.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.ketealare.identityService.benchmark.Fixtures;
+import com.ketealare.identityService.dto.request.IntrospectRequest;
+import com.ketealare.identityService.dto.request.LogoutRequest;
+import com.ketealare.identityService.entity.User;
+import com.ketealare.identityService.exception.AppException;
+import com.ketealare.identityService.exception.ErrorCode;
+
+/*
+ * A flood of bad tokens from several threads, the way a credential-stuffing client or a misconfigured caller
+ * would send them. introspect is the exception-free path; throwingWithStackTrace adds back what every bad
+ * token used to cost, an AppException with a captured stack trace thrown and caught.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class InvalidTokenBenchmark {
+
+    @Param({"malformed", "tampered", "expired", "revoked"})
+    String kind;
+
+    AuthenticationService authenticationService;
+    IntrospectRequest request;
+
+    @Setup
+    public void setUp() throws Exception {
+        User user = Fixtures.user(2, 10);
+        authenticationService = AuthenticationServiceFixture.create(user);
+
+        String token = authenticationService.generateToken(user);
+
+        String badToken =
+                switch (kind) {
+                    case "malformed" -> "not-a-token";
+                    case "tampered" -> token.substring(0, token.length() - 4) + "AAAA";
+                    case "expired" -> expiredToken(user);
+                    case "revoked" -> {
+                        authenticationService.logOut(
+                                LogoutRequest.builder().token(token).build());
+                        yield token;
+                    }
+                    default -> throw new IllegalArgumentException(kind);
+                };
+
+        request = IntrospectRequest.builder().token(badToken).build();
+    }
+
+    @Benchmark
+    public boolean introspect() throws Exception {
+        return authenticationService.introspect(request).isValid();
+    }
+
+    @Benchmark
+    public boolean throwingWithStackTrace() throws Exception {
+        try {
+            if (!authenticationService.verifyToken(request.getToken(), false).valid())
+                throw new AppException(ErrorCode.UNAUTHENTICATED);
+            return true;
+        } catch (AppException e) {
+            return false;
+        }
+    }
+
+    // Signed with the same key by a service whose tokens expire before they are issued
+    private static String expiredToken(User user) {
+        AuthenticationService issuer = AuthenticationServiceFixture.create(user);
+        issuer.VALID_DURATION = -60;
+
+        return issuer.generateToken(user);
+    }
+}
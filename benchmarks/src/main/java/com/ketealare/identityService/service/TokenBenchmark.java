@@ -0,0 +1,50 @@
+package com.ketealare.identityService.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.ketealare.identityService.benchmark.Fixtures;
+import com.ketealare.identityService.entity.User;
+import com.nimbusds.jwt.SignedJWT;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenBenchmark {
+
+    @Param({"1", "10"})
+    int roles;
+
+    @Param({"5", "50"})
+    int permissionsPerRole;
+
+    AuthenticationService authenticationService;
+    User user;
+    String token;
+
+    @Setup
+    public void setUp() {
+        user = Fixtures.user(roles, permissionsPerRole);
+        authenticationService = AuthenticationServiceFixture.create(user);
+        token = authenticationService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return authenticationService.generateToken(user);
+    }
+
+    @Benchmark
+    public SignedJWT verifyToken() throws Exception {
+        return authenticationService.verifyToken(token, false).token();
+    }
+
+    @Benchmark
+    public String buildScope() {
+        return authenticationService.buildScope(user);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ketealare.identityService.loadtest;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.ketealare.identityService.identifier.TimeOrderedIds;
+
+// Writes users, roles and permissions straight through JDBC, hashing the shared password only once
+class DataSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    DataSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    List<String> seed(LoadTestSettings settings) {
+        long start = System.nanoTime();
+
+        List<Object[]> permissions = new ArrayList<>();
+        List<Object[]> roles = new ArrayList<>();
+        List<Object[]> rolePermissions = new ArrayList<>();
+
+        for (int r = 0; r < settings.roles(); r++) {
+            String role = "LOADTEST_ROLE_" + r;
+            roles.add(new Object[] {role, "Load test role " + r});
+
+            for (int p = 0; p < settings.permissionsPerRole(); p++) {
+                String permission = role + "_PERMISSION_" + p;
+                permissions.add(new Object[] {permission, "Load test permission " + p});
+                rolePermissions.add(new Object[] {role, permission});
+            }
+        }
+
+        jdbcTemplate.batchUpdate("insert into permission (name, description) values (?, ?)", permissions);
+        jdbcTemplate.batchUpdate("insert into role (name, description) values (?, ?)", roles);
+        jdbcTemplate.batchUpdate(
+                "insert into role_permissions (role_name, permissions_name) values (?, ?)", rolePermissions);
+
+        // Real BCrypt hash, so logins pay the production cost
+        String hash = passwordEncoder.encode(LoadTestSettings.PASSWORD);
+        Date dob = Date.valueOf(LocalDate.of(1990, 1, 1));
+
+        List<String> usernames = new ArrayList<>(settings.users());
+        List<Object[]> users = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> userRoles = new ArrayList<>(BATCH_SIZE);
+
+        for (int u = 0; u < settings.users(); u++) {
+            String username = "loadtest" + u;
+            byte[] id = TimeOrderedIds.toBytes(TimeOrderedIds.next());
+
+            usernames.add(username);
+            users.add(new Object[] {id, username, hash, "Load", "Test " + u, dob});
+
+            // Every user gets two roles when there are at least two, round robin
+            for (int r = 0; r < Math.min(2, settings.roles()); r++) {
+                userRoles.add(new Object[] {id, "LOADTEST_ROLE_" + ((u + r) % settings.roles())});
+            }
+
+            if (users.size() == BATCH_SIZE) flush(users, userRoles);
+        }
+        flush(users, userRoles);
+
+        log.info(
+                "Seeded {} users, {} roles, {} permissions in {} ms",
+                settings.users(),
+                settings.roles(),
+                permissions.size(),
+                (System.nanoTime() - start) / 1_000_000);
+
+        return usernames;
+    }
+
+    private void flush(List<Object[]> users, List<Object[]> userRoles) {
+        jdbcTemplate.batchUpdate(
+                "insert into user (id, username, password, first_name, last_name, dob) values (?, ?, ?, ?, ?, ?)",
+                users);
+        jdbcTemplate.batchUpdate("insert into user_roles (user_id, roles_name) values (?, ?)", userRoles);
+
+        users.clear();
+        userRoles.clear();
+    }
+}
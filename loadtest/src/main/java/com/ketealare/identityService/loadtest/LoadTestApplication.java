@@ -0,0 +1,48 @@
+package com.ketealare.identityService.loadtest;
+
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.ketealare.identityService.IdentityServicesApplication;
+
+/*
+ * Boots the identity service in-process on the embedded H2 profile with a random port, seeds it and drives
+ * HTTP traffic against it. Exits with status 1 when any request failed.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(IdentityServicesApplication.class)
+                .profiles("h2")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run(args);
+
+        int exitCode;
+        try {
+            LoadTestSettings settings =
+                    Binder.get(context.getEnvironment()).bindOrCreate("loadtest", LoadTestSettings.class);
+
+            List<String> usernames = new DataSeeder(
+                            context.getBean(JdbcTemplate.class), context.getBean(PasswordEncoder.class))
+                    .seed(settings);
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + context.getEnvironment().getProperty("server.servlet.context-path", "");
+
+            LoadTestReport report = new TrafficDriver(settings, usernames, baseUrl).run();
+            report.print(System.out);
+            report.writeHistograms();
+
+            exitCode = report.totalErrors() == 0 ? 0 : 1;
+        } finally {
+            context.close();
+        }
+
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,82 @@
+package com.ketealare.identityService.loadtest;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+
+// Throughput and latency percentiles per operation, latencies in milliseconds
+class LoadTestReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LoadTestSettings settings;
+    private final Map<Operation, Histogram> latencies;
+    private final Map<Operation, LongAdder> errors;
+
+    LoadTestReport(LoadTestSettings settings, Map<Operation, Histogram> latencies, Map<Operation, LongAdder> errors) {
+        this.settings = settings;
+        this.latencies = latencies;
+        this.errors = errors;
+    }
+
+    long totalErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    void print(PrintStream out) {
+        double seconds = settings.duration().toMillis() / 1000.0;
+        Histogram all = new Histogram(3);
+
+        out.printf(
+                "%nLoad test: %d virtual users, %d users, %s measured after %s warm-up%n",
+                settings.virtualUsers(),
+                settings.users(),
+                settings.duration(),
+                settings.warmup());
+        out.printf(
+                "%-12s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "operation",
+                "requests",
+                "errors",
+                "req/s",
+                "p50",
+                "p90",
+                "p99",
+                "p99.9",
+                "max");
+
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            all.add(histogram);
+            printRow(out, operation.name().toLowerCase(), histogram, errors.get(operation).sum(), seconds);
+        }
+        printRow(out, "total", all, totalErrors(), seconds);
+    }
+
+    void writeHistograms() throws IOException {
+        try (PrintStream out = new PrintStream(new FileOutputStream(settings.histogramFile()))) {
+            for (Operation operation : Operation.values()) {
+                out.printf("%n# %s%n", operation.name().toLowerCase());
+                latencies.get(operation).outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram, long errorCount, double seconds) {
+        out.printf(
+                "%-12s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errorCount,
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI);
+    }
+}
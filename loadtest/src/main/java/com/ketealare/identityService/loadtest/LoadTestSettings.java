@@ -0,0 +1,34 @@
+package com.ketealare.identityService.loadtest;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// Bound from --loadtest.* arguments, e.g. --loadtest.virtual-users=64 --loadtest.duration=2m
+public record LoadTestSettings(
+        // Seeded data
+        @DefaultValue("1000") int users,
+        @DefaultValue("5") int roles,
+        @DefaultValue("20") int permissionsPerRole,
+
+        // Traffic
+        @DefaultValue("32") int virtualUsers,
+        @DefaultValue("10s") Duration warmup,
+        @DefaultValue("60s") Duration duration,
+
+        // Relative weights of the operations each virtual user picks from
+        @DefaultValue("5") int loginWeight,
+        @DefaultValue("25") int introspectWeight,
+        @DefaultValue("60") int myInfoWeight,
+        @DefaultValue("5") int refreshWeight,
+        @DefaultValue("5") int logoutWeight,
+
+        // Full percentile distributions are written here
+        @DefaultValue("loadtest-histograms.txt") String histogramFile) {
+
+    static final String PASSWORD = "loadtest-password";
+
+    int totalWeight() {
+        return loginWeight + introspectWeight + myInfoWeight + refreshWeight + logoutWeight;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ketealare.identityService.loadtest;
+
+enum Operation {
+    LOGIN,
+    INTROSPECT,
+    MY_INFO,
+    REFRESH,
+    LOGOUT;
+
+    static Operation pick(LoadTestSettings settings, int roll) {
+        int bound = settings.loginWeight();
+        if (roll < bound) return LOGIN;
+
+        bound += settings.introspectWeight();
+        if (roll < bound) return INTROSPECT;
+
+        bound += settings.myInfoWeight();
+        if (roll < bound) return MY_INFO;
+
+        bound += settings.refreshWeight();
+        if (roll < bound) return REFRESH;
+
+        return LOGOUT;
+    }
+}
@@ -0,0 +1,163 @@
+package com.ketealare.identityService.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Closed-model load: every virtual user logs in as a random seeded user, then loops over weighted operations
+ * with its current token until the test ends. Latencies are recorded only after the warm-up period.
+ */
+class TrafficDriver {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final LoadTestSettings settings;
+    private final List<String> usernames;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    private volatile boolean recording;
+
+    TrafficDriver(LoadTestSettings settings, List<String> usernames, String baseUrl) {
+        this.settings = settings;
+        this.usernames = usernames;
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_NANOS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    LoadTestReport run() throws InterruptedException {
+        long warmupEnd = System.nanoTime() + settings.warmup().toNanos();
+        long end = warmupEnd + settings.duration().toNanos();
+
+        // Virtual users block on HTTP, virtual threads keep the client side cheap
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.virtualUsers(); i++) {
+                executor.submit(() -> virtualUser(end));
+            }
+
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+            latencies.values().forEach(Histogram::reset);
+            errors.values().forEach(LongAdder::reset);
+            recording = true;
+        }
+
+        return new LoadTestReport(settings, latencies, errors);
+    }
+
+    private void virtualUser(long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = null;
+
+        while (System.nanoTime() < end) {
+            Operation operation =
+                    token == null ? Operation.LOGIN : Operation.pick(settings, random.nextInt(settings.totalWeight()));
+
+            long start = System.nanoTime();
+            try {
+                token = switch (operation) {
+                    case LOGIN -> login(usernames.get(random.nextInt(usernames.size())));
+                    case INTROSPECT -> introspect(token);
+                    case MY_INFO -> myInfo(token);
+                    case REFRESH -> refresh(token);
+                    case LOGOUT -> logout(token);
+                };
+
+                if (recording) latencies.get(operation).recordValue(Math.min(System.nanoTime() - start, MAX_LATENCY_NANOS));
+            } catch (IOException | RuntimeException e) {
+                if (recording) errors.get(operation).increment();
+                token = null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private String login(String username) throws IOException, InterruptedException {
+        JsonNode body = post(
+                "/auth/token",
+                objectMapper.createObjectNode().put("username", username).put("password", LoadTestSettings.PASSWORD));
+
+        return body.path("result").path("token").asText();
+    }
+
+    private String introspect(String token) throws IOException, InterruptedException {
+        JsonNode body = post("/auth/introspect", tokenBody(token));
+        if (!body.path("result").path("valid").asBoolean()) throw new IllegalStateException("Token not valid");
+
+        return token;
+    }
+
+    private String myInfo(String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/users/myInfo"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        send(request);
+
+        return token;
+    }
+
+    // Refresh revokes the old token and returns a new one
+    private String refresh(String token) throws IOException, InterruptedException {
+        return post("/auth/refresh", tokenBody(token)).path("result").path("token").asText();
+    }
+
+    // The next iteration logs in again
+    private String logout(String token) throws IOException, InterruptedException {
+        post("/auth/logout", tokenBody(token));
+        return null;
+    }
+
+    private JsonNode tokenBody(String token) {
+        return objectMapper.createObjectNode().put("token", token);
+    }
+
+    private JsonNode post(String path, JsonNode json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(json)))
+                .build();
+
+        return send(request);
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri().getPath() + " returned " + response.statusCode());
+        }
+
+        return objectMapper.readTree(response.body());
+    }
+}
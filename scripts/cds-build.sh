@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Extracts the AOT-processed jar and records an AppCDS archive from a training run.
+# Build first: mvn -Pcds -DskipTests package
+#
+# The training run logs in a few times before shutting down, so the archive also holds the classes of the
+# login path (JWT signing, BCrypt, Jackson), not only those loaded until the context is refreshed.
+# Set TRAINING=refresh to stop at context refresh instead (spring.context.exit=onRefresh), no port needed.
+set -euo pipefail
+
+JAR=${JAR:-$(ls target/*-exec.jar | head -n 1)}
+OUT=${OUT:-target/cds}
+PORT=${PORT:-18080}
+TRAINING=${TRAINING:-login}
+
+rm -rf "$OUT"
+java -Djarmode=tools -jar "$JAR" extract --destination "$OUT"
+APP="$OUT/$(basename "$JAR")"
+
+JVM_ARGS=(-XX:ArchiveClassesAtExit="$OUT/application.jsa" -Dspring.aot.enabled=true)
+
+if [ "$TRAINING" = "refresh" ]; then
+    java "${JVM_ARGS[@]}" -Dspring.context.exit=onRefresh -jar "$APP" --spring.profiles.active=h2
+else
+    java "${JVM_ARGS[@]}" -jar "$APP" --spring.profiles.active=h2 --server.port="$PORT" > "$OUT/training.log" 2>&1 &
+    PID=$!
+
+    until curl -fs "http://localhost:${PORT}/identity/actuator/health" > /dev/null; do
+        sleep 0.1
+    done
+
+    for _ in $(seq 1 20); do
+        curl -fs -H 'Content-Type: application/json' -d '{"username":"admin","password":"admin"}' \
+            "http://localhost:${PORT}/identity/auth/token" > /dev/null
+    done
+
+    # The archive is written when the JVM exits normally
+    kill -TERM "$PID"
+    wait "$PID" || true
+fi
+
+echo "Run with: java -XX:SharedArchiveFile=$OUT/application.jsa -Dspring.aot.enabled=true -jar $APP"
@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# Time from process start to the first successful POST /auth/token, on the embedded H2 profile, for:
+#   jar         java -jar on the fat jar
+#   extracted   extracted layout (plain classpath, no nested jars)
+#   aot         extracted + Spring AOT bean definitions
+#   aot-cds     extracted + Spring AOT + AppCDS archive
+# Build first: mvn -Pcds -DskipTests package && scripts/cds-build.sh
+set -euo pipefail
+
+JAR=${JAR:-$(ls target/*-exec.jar | head -n 1)}
+OUT=${OUT:-target/cds}
+APP="$OUT/$(basename "$JAR")"
+PORT=${PORT:-18080}
+RUNS=${RUNS:-5}
+
+# Prints milliseconds until the first login succeeds
+first_login() {
+    local start end pid
+    start=$(date +%s%N)
+    "$@" --spring.profiles.active=h2 --server.port="$PORT" > /dev/null 2>&1 &
+    pid=$!
+
+    until curl -fs -H 'Content-Type: application/json' -d '{"username":"admin","password":"admin"}' \
+        "http://localhost:${PORT}/identity/auth/token" > /dev/null 2>&1; do
+        sleep 0.01
+    done
+    end=$(date +%s%N)
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+
+    echo $(( (end - start) / 1000000 ))
+}
+
+report() {
+    local name=$1
+    shift
+
+    local total=0 best=
+    for _ in $(seq 1 "$RUNS"); do
+        local ms
+        ms=$(first_login "$@")
+        total=$(( total + ms ))
+        if [ -z "$best" ] || [ "$ms" -lt "$best" ]; then best=$ms; fi
+    done
+
+    printf '%-10s first token after %6d ms avg   %6d ms best   (%d runs)\n' "$name" $(( total / RUNS )) "$best" "$RUNS"
+}
+
+report jar java -jar "$JAR"
+report extracted java -jar "$APP"
+report aot java -Dspring.aot.enabled=true -jar "$APP"
+report aot-cds java -XX:SharedArchiveFile="$OUT/application.jsa" -Dspring.aot.enabled=true -jar "$APP"
@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Time until /actuator/health answers and resident memory after startup, JVM jar against native binary,
+# both on the embedded H2 profile. Build both first:
+#   mvn -Pnative -DskipTests package native:compile
+set -euo pipefail
+
+JAR=${JAR:-$(ls target/*-exec.jar | head -n 1)}
+BINARY=${BINARY:-target/identity-service}
+PORT=${PORT:-18080}
+RUNS=${RUNS:-5}
+
+# Prints "<startup ms> <rss MB>" for one start of the given command
+measure() {
+    local start end pid rss
+    start=$(date +%s%N)
+    "$@" --spring.profiles.active=h2 --server.port="$PORT" > /dev/null 2>&1 &
+    pid=$!
+
+    until curl -fs "http://localhost:${PORT}/identity/actuator/health" > /dev/null; do
+        sleep 0.01
+    done
+    end=$(date +%s%N)
+
+    rss=$(ps -o rss= -p "$pid")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+
+    echo "$(( (end - start) / 1000000 )) $(( rss / 1024 ))"
+}
+
+report() {
+    local name=$1
+    shift
+
+    local results=()
+    for _ in $(seq 1 "$RUNS"); do
+        results+=("$(measure "$@")")
+    done
+
+    printf '%s\n' "${results[@]}" | awk -v name="$name" '
+        { startup += $1; rss += $2 }
+        END { printf "%-8s startup %6.0f ms   rss %5.0f MB   (%d runs)\n", name, startup / NR, rss / NR, NR }'
+}
+
+report jvm java -jar "$JAR"
+report native "$BINARY"
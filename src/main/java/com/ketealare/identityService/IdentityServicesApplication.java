@@ -2,8 +2,12 @@ package com.ketealare.identityService;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.ketealare.identityService.configuration.NativeRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class IdentityServicesApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,6 @@
+package com.ketealare.identityService.audit;
+
+import java.time.Instant;
+
+// principal is who acted (or tried to), detail is free text such as a role name or token id
+public record AuditEvent(Instant occurredAt, AuditEventType type, String principal, String detail) {}
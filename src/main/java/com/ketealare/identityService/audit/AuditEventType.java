@@ -0,0 +1,15 @@
+package com.ketealare.identityService.audit;
+
+public enum AuditEventType {
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    TOKEN_REFRESH,
+    LOGOUT,
+    USER_CREATED,
+    USER_UPDATED,
+    USER_DELETED,
+    ROLE_CREATED,
+    ROLE_DELETED,
+    PERMISSION_CREATED,
+    PERMISSION_DELETED,
+}
@@ -0,0 +1,9 @@
+package com.ketealare.identityService.audit;
+
+import java.util.List;
+
+// Append-only store for audit events, called from the single audit writer thread
+public interface AuditSink {
+
+    void write(List<AuditEvent> events);
+}
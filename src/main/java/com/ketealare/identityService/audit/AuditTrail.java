@@ -0,0 +1,216 @@
+package com.ketealare.identityService.audit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ketealare.identityService.logging.RateLimitedLogger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Request threads only put events into a bounded ring buffer, one writer thread takes them out in batches
+ * and hands them to the sink. A slow or failing sink fills the buffer; by default (WAIT) a request then waits up
+ * to audit.offer-timeout for room, so short bursts such as a brute-force run of LOGIN_FAILURE events are kept,
+ * and only a sink that stays behind gets events dropped (counted in identity.audit.events{outcome=dropped}).
+ *
+ * Events recorded inside a transaction are only queued after it commits, a rolled back change is not audited.
+ * The trail stops after the web server, and events recorded after stop are written from the calling thread.
+ */
+@Component
+public class AuditTrail implements SmartLifecycle {
+
+    // Below the web server's start/stop phase: started before requests arrive, stopped after the last one
+    public static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    private static final Logger log = LoggerFactory.getLogger(AuditTrail.class);
+
+    private static final String EVENTS = "identity.audit.events";
+
+    private final RateLimitedLogger errorLog = new RateLimitedLogger(log, 1, Duration.ofSeconds(10));
+
+    private final AuditSink sink;
+    private final MpscRingBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long offerTimeoutNanos;
+
+    private final Counter accepted;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private volatile Thread writer;
+
+    public AuditTrail(
+            AuditSink sink,
+            MeterRegistry meterRegistry,
+            @Value("${audit.capacity:8192}") int capacity,
+            @Value("${audit.batch-size:256}") int batchSize,
+            @Value("${audit.flush-interval:200ms}") Duration flushInterval,
+            @Value("${audit.overflow:WAIT}") OverflowPolicy overflowPolicy,
+            @Value("${audit.offer-timeout:2ms}") Duration offerTimeout) {
+        this.sink = sink;
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+
+        this.accepted = counter(meterRegistry, "accepted");
+        this.dropped = counter(meterRegistry, "dropped");
+        this.written = counter(meterRegistry, "written");
+        this.failed = counter(meterRegistry, "failed");
+
+        Gauge.builder("identity.audit.queue", buffer, MpscRingBuffer::size)
+                .description("Audit events waiting for the writer")
+                .register(meterRegistry);
+    }
+
+    public void record(AuditEventType type, String principal, String detail) {
+        AuditEvent event = new AuditEvent(Instant.now(), type, principal, detail);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(event);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(event);
+            }
+        });
+    }
+
+    // For changes made by an authenticated admin
+    public void recordForCurrentUser(AuditEventType type, String detail) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        record(type, Objects.nonNull(authentication) ? authentication.getName() : null, detail);
+    }
+
+    @Override
+    public void start() {
+        stopped = false;
+        running = true;
+        writer = Thread.ofPlatform().name("audit-writer").daemon().start(this::writeLoop);
+    }
+
+    // Runs after the web server stopped and before the DataSource is closed, what is still buffered gets written
+    @Override
+    public void stop() {
+        running = false;
+
+        Thread thread = writer;
+        if (Objects.isNull(thread)) return;
+
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        stopped = true;
+        drainStopped();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (buffer.offer(event) || (overflowPolicy == OverflowPolicy.WAIT && offerWithin(event))) {
+            accepted.increment();
+        } else {
+            dropped.increment();
+        }
+
+        // Nobody drains the buffer after stop, a late event (a transaction committing during shutdown) is written here
+        if (stopped) drainStopped();
+    }
+
+    // Single consumer after stop: callers take turns, and never while a writer that missed the join is still alive
+    private synchronized void drainStopped() {
+        Thread thread = writer;
+        if (Objects.nonNull(thread) && thread.isAlive()) return;
+
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        do {
+            batch.clear();
+            buffer.drain(batch::add, batchSize);
+            if (!batch.isEmpty()) flush(batch);
+        } while (!batch.isEmpty());
+    }
+
+    private void writeLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+
+        while (true) {
+            buffer.drain(batch::add, batchSize);
+
+            if (batch.isEmpty()) {
+                if (!running) return;
+
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        try {
+            sink.write(batch);
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            errorLog.error("Cannot write " + batch.size() + " audit events", e);
+        }
+    }
+
+    // Backs off briefly while the writer makes room
+    private boolean offerWithin(AuditEvent event) {
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(50_000);
+            if (buffer.offer(event)) return true;
+        }
+
+        return false;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(EVENTS).tag("outcome", outcome).register(meterRegistry);
+    }
+}
@@ -0,0 +1,40 @@
+package com.ketealare.identityService.audit;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+// One JDBC batch per drained buffer, rows are only ever inserted
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class JdbcAuditSink implements AuditSink {
+
+    static final String INSERT_EVENT =
+            "insert into audit_event (occurred_at, event_type, principal, detail) values (?, ?, ?, ?)";
+
+    static final int MAX_TEXT = 255;
+
+    JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void write(List<AuditEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (ps, event) -> {
+            ps.setTimestamp(1, Timestamp.from(event.occurredAt()));
+            ps.setString(2, event.type().name());
+            ps.setString(3, truncate(event.principal()));
+            ps.setString(4, truncate(event.detail()));
+        });
+    }
+
+    private String truncate(String value) {
+        return Objects.isNull(value) || value.length() <= MAX_TEXT ? value : value.substring(0, MAX_TEXT);
+    }
+}
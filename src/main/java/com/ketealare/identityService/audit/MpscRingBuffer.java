@@ -0,0 +1,75 @@
+package com.ketealare.identityService.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/*
+ * Bounded lock-free queue for many producers and a single consumer.
+ *
+ * Producers claim a sequence by CAS on tail and then publish the element into its slot. The consumer owns
+ * head: it takes published elements in sequence order, clears their slots and only then advances head, so a
+ * producer that sees room below head + capacity always finds its slot empty. A claimed but not yet published
+ * slot stops the consumer until the producer completes.
+ */
+final class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    MpscRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    // Never blocks, false when the buffer is full
+    boolean offer(E element) {
+        while (true) {
+            long sequence = tail.get();
+            if (sequence - head >= capacity()) return false;
+
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                slots.lazySet(index(sequence), element);
+                return true;
+            }
+        }
+    }
+
+    // Consumer thread only
+    int drain(Consumer<E> consumer, int limit) {
+        long sequence = head;
+        int drained = 0;
+
+        while (drained < limit) {
+            int index = index(sequence);
+            E element = slots.get(index);
+            if (element == null) break;
+
+            slots.lazySet(index, null);
+            sequence++;
+            drained++;
+            consumer.accept(element);
+        }
+
+        head = sequence;
+        return drained;
+    }
+
+    // Approximate while producers are active
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    private int index(long sequence) {
+        return (int) sequence & mask;
+    }
+}
@@ -0,0 +1,10 @@
+package com.ketealare.identityService.audit;
+
+// What a request thread does when the audit buffer is full
+public enum OverflowPolicy {
+    // Drop the event right away and count it
+    DROP,
+
+    // Wait up to audit.offer-timeout for the writer to make room, then drop
+    WAIT,
+}
@@ -0,0 +1,149 @@
+package com.ketealare.identityService.cache;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ketealare.identityService.dto.response.UserResponse;
+import com.ketealare.identityService.invalidation.InvalidationEvent;
+import com.ketealare.identityService.invalidation.InvalidationListener;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+/*
+ * Mapped user responses keyed by username. An entry is only served while it matches the current version of
+ * the user row and the current generation. The row version changes with every update of the user, including
+ * its roles; the generation changes when roles or permissions change, since that does not touch user rows.
+ *
+ * The generation is a fingerprint of the role, permission and role_permissions rows, so every node computes the
+ * same value for the same data and an entity tag issued by one node is honoured by the others.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UserResponseCache implements InvalidationListener {
+
+    private static final String[] FINGERPRINT_QUERIES = {
+        "select name, version from role order by name",
+        "select name, version from permission order by name",
+        "select role_name, permissions_name from role_permissions order by role_name, permissions_name"
+    };
+
+    JdbcTemplate jdbcTemplate;
+    PlatformTransactionManager transactionManager;
+
+    Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Moved by every invalidateAll, a fingerprint computed in an older epoch is recomputed on the next read
+    AtomicLong epoch = new AtomicLong();
+    AtomicReference<Generation> generation = new AtomicReference<>();
+
+    @NonFinal
+    @Value("${user-cache.max-entries:10000}")
+    int maxEntries;
+
+    // Read before loading the user, so a concurrent invalidateAll makes the new entry stale right away
+    public long generation() {
+        long currentEpoch = epoch.get();
+        Generation current = generation.get();
+        if (Objects.nonNull(current) && current.epoch() == currentEpoch) return current.value();
+
+        long value = fingerprint();
+        generation.compareAndSet(current, new Generation(currentEpoch, value));
+
+        return value;
+    }
+
+    public VersionedResponse<UserResponse> get(String username, long version) {
+        Entry entry = entries.get(username);
+
+        if (Objects.isNull(entry) || entry.version() != version || entry.generation() != generation()) return null;
+
+        return entry.toResponse();
+    }
+    public VersionedResponse<UserResponse> put(String username, long version, long generation, UserResponse response) {
+        // Crude bound, entries are cheap to rebuild
+        if (entries.size() >= maxEntries) entries.clear();
+
+        Entry entry = new Entry(version, generation, response);
+        entries.put(username, entry);
+
+        return entry.toResponse();
+    }
+
+    public void invalidate(String username) {
+        entries.remove(username);
+    }
+
+    // Inside a transaction the generation moves again after commit, readers in between may have cached old data
+    public void invalidateAll() {
+        resetGeneration();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    resetGeneration();
+                }
+            });
+        }
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        switch (event.kind()) {
+            case USER -> invalidate(event.key());
+            case ALL_USERS -> invalidateAll();
+            default -> {}
+        }
+    }
+
+    private void resetGeneration() {
+        epoch.incrementAndGet();
+        entries.clear();
+    }
+
+    /*
+     * Three small tables, read only after an invalidation. A new read-write transaction sees committed rows only
+     * and goes to the primary: a lagging replica would pin an old fingerprint until the next invalidation.
+     */
+    private long fingerprint() {
+        TransactionTemplate primary = new TransactionTemplate(transactionManager);
+        primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        return primary.execute(status -> {
+            long[] hash = {17};
+            for (String query : FINGERPRINT_QUERIES) {
+                jdbcTemplate.query(query, rs -> {
+                    hash[0] = hash[0] * 1_000_003 + rs.getString(1).hashCode();
+                    hash[0] = hash[0] * 1_000_003 + rs.getString(2).hashCode();
+                });
+                hash[0] = hash[0] * 1_000_003 + 1; // table separator
+            }
+
+            return hash[0];
+        });
+    }
+
+    private record Generation(long epoch, long value) {}
+
+    private record Entry(long version, long generation, UserResponse response) {
+        VersionedResponse<UserResponse> toResponse() {
+            return new VersionedResponse<>(response, "\"" + version + "." + generation + "\"");
+        }
+    }
+}
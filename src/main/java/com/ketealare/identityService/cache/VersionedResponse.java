@@ -0,0 +1,4 @@
+package com.ketealare.identityService.cache;
+
+// A response with the entity tag clients send back in If-None-Match, etag is null when it cannot be versioned
+public record VersionedResponse<T>(T response, String etag) {}
@@ -7,6 +7,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.ketealare.identityService.constant.PredefinedRole;
 import com.ketealare.identityService.entity.Permission;
@@ -42,9 +43,14 @@ public class ApplicationInitConfig {
             prefix = "spring",
             value = "datasource.driverClassName",
             havingValue = "com.mysql.cj.jdbc.Driver")
-    ApplicationRunner applicationRunner(UserRepository userRepository, PermissionRepository permissionRepository) {
+    ApplicationRunner applicationRunner(
+            UserRepository userRepository,
+            PermissionRepository permissionRepository,
+            TransactionTemplate transactionTemplate) {
         log.info("Initializing application...");
-        return args -> {
+
+        // One transaction, so the seed rows are flushed together and can be batched
+        return args -> transactionTemplate.executeWithoutResult(status -> {
             if (userRepository.findByUsername(ADMIN_USER_NAME).isEmpty()) {
 
                 Permission permissionAdmin = permissionRepository.save(Permission.builder()
@@ -73,6 +79,6 @@ public class ApplicationInitConfig {
                 userRepository.save(user);
                 log.warn("admin user has been created with default password: admin, please change it");
             }
-        };
+        });
     }
 }
@@ -1,6 +1,5 @@
 package com.ketealare.identityService.configuration;
 
-import java.text.ParseException;
 import java.util.Objects;
 import javax.crypto.spec.SecretKeySpec;
 
@@ -13,9 +12,11 @@ import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.stereotype.Component;
 
 import com.ketealare.identityService.dto.request.IntrospectRequest;
+import com.ketealare.identityService.metrics.AuthenticationMetrics;
 import com.ketealare.identityService.service.AuthenticationService;
 import com.nimbusds.jose.JOSEException;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 
 @Component
@@ -26,12 +27,22 @@ public class CustomJwtDecoder implements JwtDecoder {
     private String signerKey;
 
     private final AuthenticationService authenticationService;
+    private final AuthenticationMetrics metrics;
 
     // NimbusJwtDecoding is part of Spring Security, providing the ability to decode and validate JSON Web Tokens (JWT)
     private NimbusJwtDecoder nimbusJwtDecoder = null;
 
     @Override
     public Jwt decode(String token) throws JwtException {
+        Timer.Sample sample = Timer.start();
+        try {
+            return decodeToken(token);
+        } finally {
+            sample.stop(metrics.getJwtDecode());
+        }
+    }
+
+    private Jwt decodeToken(String token) {
 
         // Check valid token or not (logout, expired...)?
         try {
@@ -39,7 +50,7 @@ public class CustomJwtDecoder implements JwtDecoder {
                     IntrospectRequest.builder().token(token).build());
 
             if (!response.isValid()) throw new JwtException("Token invalid");
-        } catch (JOSEException | ParseException e) {
+        } catch (JOSEException e) {
             throw new JwtException(e.getMessage());
         }
 
@@ -51,8 +62,6 @@ public class CustomJwtDecoder implements JwtDecoder {
                     .build();
         }
 
-        System.out.println(nimbusJwtDecoder);
-
         return nimbusJwtDecoder.decode(token);
     }
 }
@@ -0,0 +1,23 @@
+package com.ketealare.identityService.configuration;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+@Configuration
+public class JacksonConfig {
+
+    /*
+     * Blackbird replaces reflective getter and setter calls with generated lambdas, which the JIT inlines.
+     * A native image cannot define classes at run time, there Jackson keeps its reflective access.
+     */
+    @Bean
+    Jackson2ObjectMapperBuilderCustomizer blackbirdCustomizer() {
+        return builder -> {
+            if (!NativeDetector.inNativeImage()) builder.modulesToInstall(modules -> modules.add(new BlackbirdModule()));
+        };
+    }
+}
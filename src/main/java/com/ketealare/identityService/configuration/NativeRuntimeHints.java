@@ -0,0 +1,106 @@
+package com.ketealare.identityService.configuration;
+
+import java.util.stream.Stream;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.support.BindingReflectionHintsRegistrar;
+
+import com.ketealare.identityService.dto.request.*;
+import com.ketealare.identityService.dto.response.*;
+import com.ketealare.identityService.entity.InvalidatedToken;
+import com.ketealare.identityService.entity.Permission;
+import com.ketealare.identityService.entity.Role;
+import com.ketealare.identityService.entity.User;
+import com.ketealare.identityService.identifier.TimeOrderedIdGenerator;
+import com.ketealare.identityService.repository.RolePermissionRow;
+import com.ketealare.identityService.repository.UserRoleRow;
+
+/*
+ * Reflection and resource hints Spring AOT cannot infer, used by the native profile.
+ *   - DTOs: ApiResponse<T> hides T from the controller signatures, so bodies are registered explicitly.
+ *     Lombok builders are plain generated code and need nothing.
+ *   - MapStruct: the generated *MapperImpl classes are only known by name at compile time.
+ *   - Entities, projection rows and the id generator: Hibernate instantiates them reflectively.
+ *   - Nimbus JOSE parses claims with its shaded Gson into LinkedTreeMap.
+ *   - Logback: logback-spring.xml instantiates appenders and encoders by class name.
+ *   - Flyway: migrations live below db/migration/{vendor}, not in the default location.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] MAPPERS = {
+        "com.ketealare.identityService.mapper.UserMapperImpl",
+        "com.ketealare.identityService.mapper.RoleMapperImpl",
+        "com.ketealare.identityService.mapper.PermissionMapperImpl"
+    };
+
+    private static final String[] LOGBACK_COMPONENTS = {
+        "ch.qos.logback.classic.AsyncAppender",
+        "ch.qos.logback.core.ConsoleAppender",
+        "ch.qos.logback.classic.encoder.PatternLayoutEncoder",
+        "net.logstash.logback.encoder.LogstashEncoder"
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        bindings.registerReflectionHints(
+                hints.reflection(),
+                ApiResponse.class,
+                AuthenticationRequest.class,
+                IntrospectRequest.class,
+                LogoutRequest.class,
+                PermissionRequest.class,
+                RefreshTokenRequest.class,
+                RoleRequest.class,
+                UserCreationRequest.class,
+                UserImportRow.class,
+                UserPatchRequest.class,
+                UserSearchRequest.class,
+                UserUpdateRequest.class,
+                AuthenticationResponse.class,
+                CompactUserListResponse.class,
+                CompactUserResponse.class,
+                IntrospectResponse.class,
+                PermissionResponse.class,
+                RoleResponse.class,
+                UserImportError.class,
+                UserImportResponse.class,
+                UserResponse.class,
+                UserSearchResponse.class);
+
+        Stream.of(MAPPERS)
+                .forEach(mapper -> hints.reflection()
+                        .registerType(TypeReference.of(mapper), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS));
+
+        Stream.of(User.class, Role.class, Permission.class, InvalidatedToken.class)
+                .forEach(entity -> hints.reflection()
+                        .registerType(
+                                entity,
+                                MemberCategory.DECLARED_FIELDS,
+                                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                                MemberCategory.INVOKE_DECLARED_METHODS));
+
+        Stream.of(UserRoleRow.class, RolePermissionRow.class)
+                .forEach(row -> hints.reflection().registerType(row, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS));
+
+        hints.reflection().registerType(TimeOrderedIdGenerator.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+        hints.reflection()
+                .registerType(
+                        TypeReference.of("com.nimbusds.jose.shaded.gson.internal.LinkedTreeMap"),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+        Stream.of(LOGBACK_COMPONENTS)
+                .forEach(component -> hints.reflection()
+                        .registerType(
+                                TypeReference.of(component),
+                                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                                MemberCategory.INVOKE_PUBLIC_METHODS));
+
+        hints.resources().registerPattern("db/migration/*/*.sql");
+        hints.resources().registerPattern("logback-spring.xml");
+    }
+}
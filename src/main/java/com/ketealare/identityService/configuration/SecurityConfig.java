@@ -1,5 +1,6 @@
 package com.ketealare.identityService.configuration;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,6 +13,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import com.ketealare.identityService.serialization.PrecomputedResponses;
 
 import lombok.AllArgsConstructor;
 
@@ -25,12 +29,29 @@ public class SecurityConfig {
         "/users", "/auth/token", "/auth/introspect", "/auth/logout", "/auth/refresh"
     };
 
+    // Probes must work without a token
+    private final String[] HEALTH_ENDPOINTS = {"/actuator/health/**"};
+
+    private final String PROMETHEUS_ENDPOINT = "/actuator/prometheus";
+
     private CustomJwtDecoder customJwtDecoder;
 
+    private PrecomputedResponses precomputedResponses;
+
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity httpSecurity) throws Exception {
+    public SecurityFilterChain filterChain(
+            HttpSecurity httpSecurity, @Value("${management.server.port:-1}") int managementPort) throws Exception {
+
+        // The scrape is anonymous only on the management port (prod profile), which is not published;
+        // on the application port metrics need a token like any other endpoint
+        RequestMatcher prometheusOnManagementPort = request -> request.getLocalPort() == managementPort
+                && PROMETHEUS_ENDPOINT.equals(request.getRequestURI());
 
         httpSecurity.authorizeHttpRequests(request -> request.requestMatchers(HttpMethod.POST, PUBLIC_ENDPOINTS)
+                .permitAll()
+                .requestMatchers(HttpMethod.GET, HEALTH_ENDPOINTS)
+                .permitAll()
+                .requestMatchers(prometheusOnManagementPort)
                 .permitAll()
                 .anyRequest()
                 .authenticated());
@@ -38,7 +59,7 @@ public class SecurityConfig {
         httpSecurity.oauth2ResourceServer(oauth2 -> oauth2.jwt(jwtConfigurer -> jwtConfigurer
                         .decoder(customJwtDecoder)
                         .jwtAuthenticationConverter(jwtAuthenticationConverter()))
-                .authenticationEntryPoint(new JwtAuthenticationEntryPoint()));
+                .authenticationEntryPoint(new JwtAuthenticationEntryPoint(precomputedResponses)));
 
         httpSecurity.csrf(AbstractHttpConfigurer::disable);
 
@@ -2,6 +2,8 @@ package com.ketealare.identityService.controller;
 
 import java.text.ParseException;
 
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -14,6 +16,7 @@ import com.ketealare.identityService.dto.request.RefreshTokenRequest;
 import com.ketealare.identityService.dto.response.ApiResponse;
 import com.ketealare.identityService.dto.response.AuthenticationResponse;
 import com.ketealare.identityService.dto.response.IntrospectResponse;
+import com.ketealare.identityService.serialization.PrecomputedResponses;
 import com.ketealare.identityService.service.AuthenticationService;
 import com.nimbusds.jose.JOSEException;
 
@@ -28,6 +31,7 @@ import lombok.experimental.FieldDefaults;
 public class AuthenticationController {
 
     AuthenticationService authenticationService;
+    PrecomputedResponses precomputedResponses;
 
     @PostMapping("/token")
     ApiResponse<AuthenticationResponse> authenticate(@RequestBody AuthenticationRequest request) {
@@ -42,11 +46,13 @@ public class AuthenticationController {
         return ApiResponse.<AuthenticationResponse>builder().result(result).build();
     }
 
+    // Only two possible bodies, both serialized at startup
     @PostMapping("/introspect")
-    ApiResponse<IntrospectResponse> authenticate(@RequestBody IntrospectRequest request)
-            throws ParseException, JOSEException {
-        var result = authenticationService.introspect(request);
-        return ApiResponse.<IntrospectResponse>builder().result(result).build();
+    ResponseEntity<byte[]> authenticate(@RequestBody IntrospectRequest request) throws JOSEException {
+        IntrospectResponse result = authenticationService.introspect(request);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(precomputedResponses.introspect(result.isValid()));
     }
 
     @PostMapping("/logout")
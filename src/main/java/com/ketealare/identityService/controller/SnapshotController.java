@@ -0,0 +1,53 @@
+package com.ketealare.identityService.controller;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ketealare.identityService.service.SnapshotExportService;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@RestController
+@RequestMapping("/snapshots")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SnapshotController {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    SnapshotExportService snapshotExportService;
+
+    // Written straight to the servlet stream, so large exports are neither buffered nor cut by async timeouts.
+    // Checked here as well as in the service: the download headers must not be set for a rejected caller.
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    void exportSnapshot(@RequestParam(defaultValue = "true") boolean gzip, HttpServletResponse response)
+            throws IOException {
+
+        String fileName = "identity-snapshot-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".ndjson";
+
+        response.setContentType(gzip ? "application/gzip" : "application/x-ndjson");
+        response.setHeader(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment()
+                        .filename(gzip ? fileName + ".gz" : fileName)
+                        .build()
+                        .toString());
+
+        snapshotExportService.exportSnapshot(response.getOutputStream(), gzip);
+        response.flushBuffer();
+    }
+}
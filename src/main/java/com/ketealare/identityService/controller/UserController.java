@@ -1,24 +1,35 @@
 package com.ketealare.identityService.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Objects;
 
 import jakarta.validation.Valid;
 
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.ketealare.identityService.cache.VersionedResponse;
 import com.ketealare.identityService.dto.request.UserCreationRequest;
+import com.ketealare.identityService.dto.request.UserPatchRequest;
+import com.ketealare.identityService.dto.request.UserSearchRequest;
 import com.ketealare.identityService.dto.request.UserUpdateRequest;
 import com.ketealare.identityService.dto.response.ApiResponse;
+import com.ketealare.identityService.dto.response.CompactUserListResponse;
+import com.ketealare.identityService.dto.response.UserImportResponse;
 import com.ketealare.identityService.dto.response.UserResponse;
+import com.ketealare.identityService.dto.response.UserSearchResponse;
+import com.ketealare.identityService.service.UserImportService;
 import com.ketealare.identityService.service.UserService;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
@@ -26,30 +37,49 @@ import lombok.extern.slf4j.Slf4j;
 public class UserController {
 
     UserService userService;
+    UserImportService userImportService;
 
     @PostMapping
     ApiResponse<UserResponse> createUser(@RequestBody @Valid UserCreationRequest request) {
-
-        log.info("Controller: Create user");
-
         return ApiResponse.<UserResponse>builder()
                 .result(userService.createUser(request))
                 .build();
     }
 
+    // Body is streamed: CSV with a header line or one JSON object per line
+    @PostMapping(
+            value = "/import",
+            consumes = {"text/csv", "application/x-ndjson"})
+    ApiResponse<UserImportResponse> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        return ApiResponse.<UserImportResponse>builder()
+                .result(userImportService.importUsers(body, MediaType.parseMediaType(contentType)))
+                .build();
+    }
+
     @GetMapping
     ApiResponse<List<UserResponse>> getUsers() {
-
-        var authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        log.info("Username: {}", authentication.getName());
-        authentication.getAuthorities().forEach(grantedAuthority -> log.info(grantedAuthority.getAuthority()));
-
         return ApiResponse.<List<UserResponse>>builder()
                 .result(userService.getUsers())
                 .build();
     }
 
+    // GET /users?view=compact: roles by name, plus one dictionary of the roles used by the listed users
+    @GetMapping(params = "view=compact")
+    ApiResponse<CompactUserListResponse> getCompactUsers() {
+        return ApiResponse.<CompactUserListResponse>builder()
+                .result(userService.getCompactUsers())
+                .build();
+    }
+
+    // GET /users/search?username=jo&role=USER&dobFrom=1990-01-01&size=20, then &after=<next> for the next page
+    @GetMapping("/search")
+    ApiResponse<UserSearchResponse> searchUsers(@ModelAttribute UserSearchRequest request) {
+        return ApiResponse.<UserSearchResponse>builder()
+                .result(userService.searchUsers(request))
+                .build();
+    }
+
     @GetMapping("/{userId}")
     ApiResponse<UserResponse> getUser(@PathVariable("userId") String userId) {
         return ApiResponse.<UserResponse>builder()
@@ -57,11 +87,17 @@ public class UserController {
                 .build();
     }
 
+    // With a matching If-None-Match Spring answers 304 from the ETag without writing the body
     @GetMapping("/myInfo")
-    ApiResponse<UserResponse> getMyInfo() {
-        return ApiResponse.<UserResponse>builder()
-                .result(userService.getMyInfo())
-                .build();
+    ResponseEntity<ApiResponse<UserResponse>> getMyInfo() {
+        VersionedResponse<UserResponse> myInfo = userService.getVersionedMyInfo();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate());
+        if (Objects.nonNull(myInfo.etag())) response.eTag(myInfo.etag());
+
+        return response.body(ApiResponse.<UserResponse>builder()
+                .result(myInfo.response())
+                .build());
     }
 
     @PutMapping("/{userId}")
@@ -72,6 +108,15 @@ public class UserController {
                 .build();
     }
 
+    // Only the fields present in the body are changed, send the version from the last read to detect conflicts
+    @PatchMapping("/{userId}")
+    ApiResponse<UserResponse> patchUser(
+            @PathVariable("userId") String userId, @RequestBody @Valid UserPatchRequest request) {
+        return ApiResponse.<UserResponse>builder()
+                .result(userService.patchUser(userId, request))
+                .build();
+    }
+
     @DeleteMapping("/{userId}")
     ApiResponse<String> deleteUser(@PathVariable("userId") String userId) {
         userService.deleteUser(userId);
@@ -0,0 +1,6 @@
+package com.ketealare.identityService.datasource;
+
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,19 @@
+package com.ketealare.identityService.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Read-only transactions go to the replica pool, everything else to the primary.
+ * The read-only flag is only known once the transaction has started, so this must sit behind a
+ * LazyConnectionDataSourceProxy, which defers the choice until the first statement.
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? DataSourceRoute.REPLICA
+                : DataSourceRoute.PRIMARY;
+    }
+}
@@ -0,0 +1,81 @@
+package com.ketealare.identityService.datasource;
+
+import java.util.Map;
+import java.util.Objects;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/*
+ * Primary and replica Hikari pools behind one routing DataSource, enabled with identity.datasource.routing=true.
+ * spring.datasource.* is then ignored, each pool is configured with Hikari property names under
+ * identity.datasource.primary and identity.datasource.replica.
+ *
+ * Flyway, Hibernate startup and all writes use the primary. The replica serves @Transactional(readOnly = true),
+ * including the inherited Spring Data read methods, so those reads can lag behind a write by the replication delay.
+ */
+@Configuration
+@ConditionalOnProperty(name = "identity.datasource.routing", havingValue = "true")
+public class RoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("identity.datasource.primary")
+    HikariDataSource primaryDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("identity.datasource.replica")
+    HikariDataSource replicaDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            @Qualifier("replicaDataSource") HikariDataSource replica) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /*
+     * Spring Boot already publishes hikaricp.connections.* per pool. This adds the share of the pool in use,
+     * the number to alert on: at 1 new requests queue in hikaricp.connections.pending.
+     */
+    @Bean
+    MeterBinder dataSourceSaturationMetrics(
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            @Qualifier("replicaDataSource") HikariDataSource replica) {
+        return registry -> Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica)
+                .forEach((route, pool) -> Gauge.builder("identity.datasource.saturation", pool, this::saturation)
+                        .description("Active connections divided by the maximum pool size")
+                        .tag("route", route.name().toLowerCase())
+                        .register(registry));
+    }
+
+    private double saturation(HikariDataSource pool) {
+        // The pool starts with its first connection
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        if (Objects.isNull(mxBean)) return 0;
+
+        return (double) mxBean.getActiveConnections() / pool.getMaximumPoolSize();
+    }
+}
@@ -0,0 +1,28 @@
+package com.ketealare.identityService.dto.request;
+
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UserImportRow {
+    String username;
+
+    // Plain text password, hashed during import
+    String password;
+
+    // Already hashed BCrypt value, stored as-is
+    String passwordHash;
+
+    String firstName;
+    String lastName;
+    LocalDate dob;
+}
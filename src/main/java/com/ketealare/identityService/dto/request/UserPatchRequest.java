@@ -0,0 +1,34 @@
+package com.ketealare.identityService.dto.request;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import jakarta.validation.constraints.Size;
+
+import com.ketealare.identityService.validator.DobConstraint;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+// Null fields are left unchanged
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UserPatchRequest {
+
+    @Size(min = 8, message = "PASSWORD_INVALID")
+    String password;
+
+    String firstName;
+    String lastName;
+
+    @DobConstraint(min = 18, message = "INVALID_DOB")
+    LocalDate dob;
+
+    List<String> roles;
+
+    // Version the client last read, the patch is rejected when the user has changed since
+    Long version;
+}
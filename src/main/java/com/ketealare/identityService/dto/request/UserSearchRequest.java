@@ -0,0 +1,38 @@
+package com.ketealare.identityService.dto.request;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+// Query parameters of GET /users/search, every filter is optional and they are combined with AND
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UserSearchRequest {
+
+    // Prefixes
+    String username;
+    String name;
+
+    // Role name
+    String role;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate dobFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate dobTo;
+
+    // Keyset cursor: the next value of the previous page, results start after this username
+    String after;
+
+    Integer size;
+
+    // Also count the matches, up to a cap
+    boolean count;
+}
@@ -0,0 +1,18 @@
+package com.ketealare.identityService.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+// Every role used by the listed users appears once, keyed by name, instead of once per user
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CompactUserListResponse {
+    List<CompactUserResponse> users;
+    Map<String, RoleResponse> roles;
+}
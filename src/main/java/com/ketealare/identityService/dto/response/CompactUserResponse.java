@@ -0,0 +1,23 @@
+package com.ketealare.identityService.dto.response;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+// UserResponse with roles by name only, they are resolved through CompactUserListResponse.roles
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CompactUserResponse {
+    String id;
+    String username;
+    String firstName;
+    String lastName;
+    LocalDate dob;
+    Set<String> roles;
+    Long version;
+}
@@ -0,0 +1,19 @@
+package com.ketealare.identityService.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportError {
+    long line;
+    String username;
+    int code;
+    String message;
+}
@@ -0,0 +1,24 @@
+package com.ketealare.identityService.dto.response;
+
+import java.util.List;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UserImportResponse {
+    long total;
+    long imported;
+    long failed;
+    long elapsedMillis;
+
+    // Imported rows only, rejected and duplicate rows are not counted
+    double rowsPerSecond;
+
+    // Only the first errors are reported, see user-import.max-reported-errors
+    List<UserImportError> errors;
+}
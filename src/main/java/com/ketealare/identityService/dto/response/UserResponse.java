@@ -18,4 +18,7 @@ public class UserResponse {
     String lastName;
     LocalDate dob;
     Set<RoleResponse> roles;
+
+    // Send back with a PATCH to detect concurrent modifications
+    Long version;
 }
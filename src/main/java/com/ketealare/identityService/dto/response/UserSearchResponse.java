@@ -0,0 +1,25 @@
+package com.ketealare.identityService.dto.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserSearchResponse {
+    List<UserResponse> users;
+
+    // Pass as after to get the next page, absent on the last page
+    String next;
+
+    // Only when requested; with countCapped the real number is higher
+    Long count;
+    Boolean countCapped;
+}
@@ -1,10 +1,15 @@
 package com.ketealare.identityService.entity;
 
 import java.util.Date;
+import java.util.UUID;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
@@ -17,8 +22,11 @@ import lombok.experimental.FieldDefaults;
 @Entity
 public class InvalidatedToken {
 
+    // JWT id of the revoked token, a UUID version 7 stored as binary(16)
     @Id
-    String id;
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(length = 16)
+    UUID id;
 
     Date expiryTime;
 }
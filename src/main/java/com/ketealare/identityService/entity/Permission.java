@@ -2,6 +2,7 @@ package com.ketealare.identityService.entity;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 
 import lombok.*;
 import lombok.experimental.FieldDefaults;
@@ -19,4 +20,7 @@ public class Permission {
     String name;
 
     String description;
+
+    @Version
+    Long version;
 }
@@ -5,6 +5,7 @@ import java.util.Set;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.Version;
 
 import lombok.*;
 import lombok.experimental.FieldDefaults;
@@ -23,6 +24,9 @@ public class Role {
 
     String description;
 
+    @Version
+    Long version;
+
     @ManyToMany
     Set<Permission> permissions;
 }
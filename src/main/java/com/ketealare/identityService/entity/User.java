@@ -2,9 +2,16 @@ package com.ketealare.identityService.entity;
 
 import java.time.LocalDate;
 import java.util.Set;
+import java.util.UUID;
 
 import jakarta.persistence.*;
 
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.ketealare.identityService.identifier.TimeOrderedId;
+
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
@@ -14,12 +21,17 @@ import lombok.experimental.FieldDefaults;
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
+// UPDATE statements only carry the changed columns
+@DynamicUpdate
 @Entity
 public class User {
 
+    // UUID version 7 stored as binary(16), new rows land at the end of the primary key index
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    String id;
+    @TimeOrderedId
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(length = 16)
+    UUID id;
 
     String username;
     String password;
@@ -27,6 +39,10 @@ public class User {
     String lastName;
     LocalDate dob;
 
+    // Incremented by Hibernate on every update, also when only the roles change
+    @Version
+    Long version;
+
     @ManyToMany
     Set<Role> roles;
 }
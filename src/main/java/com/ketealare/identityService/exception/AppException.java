@@ -13,4 +13,10 @@ public class AppException extends RuntimeException {
         super(errorCode.getMessage());
         this.errorCode = errorCode;
     }
+
+    // Without a stack trace, for expected failures such as bad tokens, where only the error code is used
+    public AppException(ErrorCode errorCode, boolean writableStackTrace) {
+        super(errorCode.getMessage(), null, true, writableStackTrace);
+        this.errorCode = errorCode;
+    }
 }
@@ -21,6 +21,10 @@ public enum ErrorCode {
     UNAUTHENTICATED(1006, "Unauthenticated!", HttpStatus.UNAUTHORIZED),
     UNAUTHORIZED(1007, "You dont have permission!", HttpStatus.FORBIDDEN),
     INVALID_DOB(1008, "Your age must be at least {min} years old", HttpStatus.FORBIDDEN),
+    INVALID_IMPORT_ROW(1009, "Import row is invalid!", HttpStatus.BAD_REQUEST),
+    UPDATE_CONFLICT(1010, "Resource was modified by another request, reload it and retry!", HttpStatus.CONFLICT),
+    ROLE_EXISTED(1011, "Role already exists!", HttpStatus.BAD_REQUEST),
+    PERMISSION_EXISTED(1012, "Permission already exists!", HttpStatus.BAD_REQUEST),
     ;
 
     int code;
@@ -1,5 +1,7 @@
 package com.ketealare.identityService.exception;
 
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -7,13 +9,20 @@ import jakarta.validation.ConstraintViolation;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.ketealare.identityService.dto.response.ApiResponse;
+import com.ketealare.identityService.logging.RateLimitedLogger;
+import com.ketealare.identityService.serialization.PrecomputedResponses;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -22,40 +31,51 @@ public class GlobalExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    // A failing dependency turns every request into an uncategorized error, keep the log volume bounded
+    private static final RateLimitedLogger errorLog = new RateLimitedLogger(log, 10, Duration.ofSeconds(1));
+
+    // Error bodies never change, the whole response for every ErrorCode is built once and shared
+    private final Map<ErrorCode, ResponseEntity<byte[]>> errorResponses = new EnumMap<>(ErrorCode.class);
+
+    // Uncategorized errors have always been answered with 400, not the 500 of their ErrorCode
+    private final ResponseEntity<byte[]> uncategorizedResponse;
+
+    public GlobalExceptionHandler(PrecomputedResponses precomputedResponses) {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            errorResponses.put(
+                    errorCode,
+                    response(errorCode.getStatusCode(), precomputedResponses.error(errorCode)));
+        }
+
+        uncategorizedResponse = response(
+                HttpStatus.BAD_REQUEST, precomputedResponses.error(ErrorCode.UNCATEGORIZED_EXCEPTION));
+    }
+
     // Uncategorized Exception
     @ExceptionHandler(value = Exception.class)
-    ResponseEntity<ApiResponse> handlingRuntimeException(RuntimeException exception) {
+    ResponseEntity<byte[]> handlingRuntimeException(RuntimeException exception) {
 
-        ApiResponse apiResponse = new ApiResponse();
-        apiResponse.setCode(ErrorCode.UNCATEGORIZED_EXCEPTION.getCode());
-        apiResponse.setMessage(ErrorCode.UNCATEGORIZED_EXCEPTION.getMessage());
+        errorLog.error("Uncategorized exception", exception);
 
-        return ResponseEntity.badRequest().body(apiResponse);
+        return uncategorizedResponse;
     }
 
     // App Exception
     @ExceptionHandler(value = AppException.class)
-    ResponseEntity<ApiResponse> handlingAppException(AppException exception) {
-
-        ErrorCode errorCode = exception.getErrorCode();
-
-        ApiResponse apiResponse = new ApiResponse();
-        apiResponse.setCode(errorCode.getCode());
-        apiResponse.setMessage(errorCode.getMessage());
-
-        return ResponseEntity.status(errorCode.getStatusCode()).body(apiResponse);
+    ResponseEntity<byte[]> handlingAppException(AppException exception) {
+        return errorResponses.get(exception.getErrorCode());
     }
 
     // Access Denied Exception
     @ExceptionHandler(value = AccessDeniedException.class)
-    ResponseEntity<ApiResponse> handlingAccessDeniedException(AccessDeniedException exception) {
-        ErrorCode errorCode = ErrorCode.UNAUTHORIZED;
-
-        return ResponseEntity.status(errorCode.getStatusCode())
-                .body(ApiResponse.builder()
-                        .code(errorCode.getCode())
-                        .message(errorCode.getMessage())
-                        .build());
+    ResponseEntity<byte[]> handlingAccessDeniedException(AccessDeniedException exception) {
+        return errorResponses.get(ErrorCode.UNAUTHORIZED);
+    }
+
+    // Optimistic Locking Exception: the row version changed between read and write
+    @ExceptionHandler(value = ObjectOptimisticLockingFailureException.class)
+    ResponseEntity<byte[]> handlingOptimisticLockingFailure(ObjectOptimisticLockingFailureException exception) {
+        return errorResponses.get(ErrorCode.UPDATE_CONFLICT);
     }
 
     // MethodArgumentNotValidException Exception
@@ -67,9 +87,6 @@ public class GlobalExceptionHandler {
         ErrorCode error_Code = ErrorCode.INVALID_KEY;
         Map<String, Object> attributes = null;
 
-        log.info("Enum key: {}", enum_Key);
-        log.info("Error code: {}", error_Code);
-
         try {
             error_Code = ErrorCode.valueOf(enum_Key);
 
@@ -78,8 +95,6 @@ public class GlobalExceptionHandler {
 
             attributes = constraintViolations.getConstraintDescriptor().getAttributes();
 
-            log.info(attributes.toString());
-
         } catch (IllegalArgumentException e) {
 
         }
@@ -95,6 +110,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(apiResponse);
     }
 
+    // ResponseEntity makes its headers read-only, the instance is safe to return from every request
+    private static ResponseEntity<byte[]> response(HttpStatusCode status, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(body.length);
+
+        return new ResponseEntity<>(body, headers, status);
+    }
+
     private String mapAttribute(String message, Map<String, Object> attributes) {
         String minValue = String.valueOf(attributes.get(MIN_ATTRIBUTE));
 
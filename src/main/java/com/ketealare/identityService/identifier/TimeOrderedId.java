@@ -0,0 +1,15 @@
+package com.ketealare.identityService.identifier;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+// Generates a UUID version 7 id on insert, see TimeOrderedIds
+@IdGeneratorType(TimeOrderedIdGenerator.class)
+@Target({FIELD})
+@Retention(RUNTIME)
+public @interface TimeOrderedId {}
@@ -0,0 +1,42 @@
+package com.ketealare.identityService.identifier;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * UUID version 7 (RFC 9562): 48 bit Unix milliseconds, then random bits.
+ * New ids sort after older ones, so InnoDB appends them to the right-most page of the primary key
+ * instead of splitting random pages like version 4 ids do.
+ * Ids are not secrets (tokens are signed), so a fast non-cryptographic random source is enough.
+ */
+public final class TimeOrderedIds {
+
+    private TimeOrderedIds() {}
+
+    public static UUID next() {
+        return fromMillis(System.currentTimeMillis());
+    }
+
+    static UUID fromMillis(long epochMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long mostSigBits = (epochMillis << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    // Same layout as MySQL UUID_TO_BIN(uuid) without the swap flag
+    public static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    public static UUID fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,16 @@
+package com.ketealare.identityService.invalidation;
+
+/*
+ * Tells every node's caches that something changed. Listeners on the publishing node are called right away,
+ * other nodes get the event with a delay that depends on the implementation, selected with
+ * identity.invalidation.bus:
+ *   local  this node only (default)
+ *   jdbc   change table polled by every node, see JdbcInvalidationBus
+ * Events must be idempotent, a node may apply the same event more than once.
+ */
+public interface InvalidationBus {
+
+    String PROPERTY = "identity.invalidation.bus";
+
+    void publish(InvalidationEvent event);
+}
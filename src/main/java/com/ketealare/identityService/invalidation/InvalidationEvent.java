@@ -0,0 +1,19 @@
+package com.ketealare.identityService.invalidation;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record InvalidationEvent(InvalidationKind kind, String key, Instant expiresAt) {
+
+    public static InvalidationEvent user(String username) {
+        return new InvalidationEvent(InvalidationKind.USER, username, null);
+    }
+
+    public static InvalidationEvent allUsers() {
+        return new InvalidationEvent(InvalidationKind.ALL_USERS, null, null);
+    }
+
+    public static InvalidationEvent token(UUID tokenId, Instant expiresAt) {
+        return new InvalidationEvent(InvalidationKind.TOKEN, tokenId.toString(), expiresAt);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ketealare.identityService.invalidation;
+
+public enum InvalidationKind {
+    // One user changed, key is the username
+    USER,
+
+    // Roles or permissions changed, every cached user may be affected, no key
+    ALL_USERS,
+
+    // A token was revoked, key is its id and expiresAt the end of the revocation
+    TOKEN,
+}
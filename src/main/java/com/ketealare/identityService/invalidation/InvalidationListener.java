@@ -0,0 +1,7 @@
+package com.ketealare.identityService.invalidation;
+
+// Beans implementing this receive every invalidation, local ones and those published by other nodes
+public interface InvalidationListener {
+
+    void onInvalidation(InvalidationEvent event);
+}
@@ -0,0 +1,264 @@
+package com.ketealare.identityService.invalidation;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ketealare.identityService.logging.RateLimitedLogger;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/*
+ * Events are rows of invalidation_event, inserted in the publisher's transaction so they commit with the
+ * change. Every node polls the rows above its cursor and applies those published by other nodes.
+ *
+ * Sequences are allocated at insert but become visible at commit, so seq 11 can be seen before seq 10. The
+ * cursor only moves over contiguous sequences; rows above a gap are applied once and remembered, new rows are
+ * read from the last sequence seen and the missing ones are asked for by number. A gap that stays the first
+ * one for longer than gap-timeout was a rolled back insert and is skipped.
+ *
+ * A starting node replays the TOKEN rows whose revocation has not ended, so those rows are kept until
+ * expires_at; the other kinds only matter to caches, which start empty, and are kept for retention.
+ *
+ * Staleness bound: a committed event is applied by every node within poll-interval plus one poll, unless
+ * polling fails or its transaction commits more than gap-timeout after the insert (the row is then skipped).
+ * identity.invalidation.staleness reports the time since the last successful poll, or since the first gap
+ * opened when that is longer, and identity.invalidation.delay the time from publish to apply on this node
+ * (both clocks are involved).
+ */
+@Component
+@ConditionalOnProperty(name = InvalidationBus.PROPERTY, havingValue = "jdbc")
+public class JdbcInvalidationBus implements InvalidationBus, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcInvalidationBus.class);
+
+    static final String INSERT_EVENT = "insert into invalidation_event (kind, entity_key, expires_at, origin, created_at)"
+            + " values (?, ?, ?, ?, ?)";
+
+    static final String SELECT_EVENTS = "select seq, kind, entity_key, expires_at, origin, created_at"
+            + " from invalidation_event where seq > ? order by seq limit ?";
+
+    static final String SELECT_MISSING = "select seq, kind, entity_key, expires_at, origin, created_at"
+            + " from invalidation_event where seq in (%s)";
+
+    static final String SELECT_REVOKED = "select entity_key, expires_at from invalidation_event"
+            + " where kind = 'TOKEN' and expires_at > ?";
+
+    static final String DELETE_EXPIRED = "delete from invalidation_event where created_at < ?"
+            + " and (expires_at is null or expires_at < ?)";
+
+    private final RateLimitedLogger errorLog = new RateLimitedLogger(log, 1, Duration.ofSeconds(10));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<InvalidationListener> listeners;
+    private final long pollIntervalMillis;
+    private final int batchSize;
+    private final Duration gapTimeout;
+    private final Duration retention;
+
+    private final String origin = UUID.randomUUID().toString();
+    private final Timer delay;
+
+    // Poller thread only
+    private long cursor;
+    private final TreeSet<Long> appliedAboveCursor = new TreeSet<>();
+    private long polls;
+
+    private volatile Instant gapSince;
+    private volatile long lastPollMillis = System.currentTimeMillis();
+    private volatile ScheduledExecutorService poller;
+
+    public JdbcInvalidationBus(
+            JdbcTemplate jdbcTemplate,
+            List<InvalidationListener> listeners,
+            MeterRegistry meterRegistry,
+            @Value("${identity.invalidation.poll-interval:200ms}") Duration pollInterval,
+            @Value("${identity.invalidation.batch-size:500}") int batchSize,
+            @Value("${identity.invalidation.gap-timeout:10s}") Duration gapTimeout,
+            @Value("${identity.invalidation.retention:1h}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.listeners = listeners;
+        this.pollIntervalMillis = pollInterval.toMillis();
+        this.batchSize = batchSize;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+
+        this.delay = Timer.builder("identity.invalidation.delay")
+                .description("Time from publish on another node to apply on this one")
+                .register(meterRegistry);
+
+        Gauge.builder("identity.invalidation.staleness", this, bus -> bus.stalenessMillis() / 1000.0)
+                .description("Seconds since the last successful poll of the invalidation feed or the first gap in it")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        jdbcTemplate.update(
+                INSERT_EVENT,
+                event.kind().name(),
+                event.key(),
+                Objects.nonNull(event.expiresAt()) ? Timestamp.from(event.expiresAt()) : null,
+                origin,
+                Timestamp.from(Instant.now()));
+
+        dispatch(event);
+    }
+
+    long stalenessMillis() {
+        Instant gap = gapSince;
+        long since = Objects.nonNull(gap) ? Math.min(lastPollMillis, gap.toEpochMilli()) : lastPollMillis;
+
+        return System.currentTimeMillis() - since;
+    }
+
+    // Caches start empty, so apart from the revocations still in force the feed is followed from now on
+    @Override
+    public void start() {
+        cursor = jdbcTemplate.queryForObject("select coalesce(max(seq), 0) from invalidation_event", Long.class);
+        replayRevocations();
+        lastPollMillis = System.currentTimeMillis();
+
+        poller = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("invalidation-poller").daemon().factory());
+        poller.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = poller;
+        if (Objects.isNull(executor)) return;
+
+        executor.shutdownNow();
+        poller = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return Objects.nonNull(poller);
+    }
+
+    void poll() {
+        try {
+            // Rows below the last one seen were applied already, unless they sit in a gap
+            long from = appliedAboveCursor.isEmpty() ? cursor : appliedAboveCursor.last();
+            feed(SELECT_EVENTS, from, batchSize).forEach(this::apply);
+
+            List<Long> missing = missingSequences();
+            if (!missing.isEmpty()) {
+                String placeholders = String.join(", ", Collections.nCopies(missing.size(), "?"));
+                feed(SELECT_MISSING.formatted(placeholders), missing.toArray()).forEach(this::apply);
+            }
+
+            advanceCursor();
+
+            lastPollMillis = System.currentTimeMillis();
+
+            if (++polls % 1000 == 0) {
+                Instant now = Instant.now();
+                jdbcTemplate.update(DELETE_EXPIRED, Timestamp.from(now.minus(retention)), Timestamp.from(now));
+            }
+        } catch (RuntimeException e) {
+            errorLog.error("Cannot poll invalidation events", e);
+        }
+    }
+
+    private void replayRevocations() {
+        jdbcTemplate.query(
+                SELECT_REVOKED,
+                rs -> {
+                    dispatch(new InvalidationEvent(
+                            InvalidationKind.TOKEN,
+                            rs.getString("entity_key"),
+                            rs.getTimestamp("expires_at").toInstant()));
+                },
+                Timestamp.from(Instant.now()));
+    }
+
+    private List<FeedRow> feed(String sql, Object... args) {
+        return jdbcTemplate.query(
+                sql,
+                (rs, i) -> new FeedRow(
+                        rs.getLong("seq"),
+                        new InvalidationEvent(
+                                InvalidationKind.valueOf(rs.getString("kind")),
+                                rs.getString("entity_key"),
+                                toInstant(rs.getTimestamp("expires_at"))),
+                        rs.getString("origin"),
+                        rs.getTimestamp("created_at").toInstant()),
+                args);
+    }
+
+    // Sequences between the cursor and the last row seen that have not shown up yet, at most one batch
+    private List<Long> missingSequences() {
+        List<Long> missing = new ArrayList<>();
+        if (appliedAboveCursor.isEmpty()) return missing;
+
+        long last = appliedAboveCursor.last();
+        for (long seq = cursor + 1; seq < last && missing.size() < batchSize; seq++) {
+            if (!appliedAboveCursor.contains(seq)) missing.add(seq);
+        }
+
+        return missing;
+    }
+
+    private void apply(FeedRow row) {
+        if (!appliedAboveCursor.add(row.seq())) return;
+
+        // Own events were dispatched when they were published
+        if (row.origin().equals(origin)) return;
+
+        dispatch(row.event());
+        delay.record(Duration.between(row.createdAt(), Instant.now()));
+    }
+
+    private void advanceCursor() {
+        long before = cursor;
+        while (appliedAboveCursor.remove(cursor + 1)) cursor++;
+
+        if (appliedAboveCursor.isEmpty()) {
+            gapSince = null;
+            return;
+        }
+
+        // A gap is timed from when it became the first one, not from when some earlier gap opened
+        Instant now = Instant.now();
+        if (Objects.isNull(gapSince) || cursor != before) {
+            gapSince = now;
+        } else if (Duration.between(gapSince, now).compareTo(gapTimeout) > 0) {
+            cursor = appliedAboveCursor.first() - 1;
+            gapSince = null;
+            advanceCursor();
+        }
+    }
+
+    private void dispatch(InvalidationEvent event) {
+        listeners.forEach(listener -> listener.onInvalidation(event));
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return Objects.nonNull(timestamp) ? timestamp.toInstant() : null;
+    }
+
+    private record FeedRow(long seq, InvalidationEvent event, String origin, Instant createdAt) {}
+}
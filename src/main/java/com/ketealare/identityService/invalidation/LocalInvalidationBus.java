@@ -0,0 +1,24 @@
+package com.ketealare.identityService.invalidation;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Component
+@ConditionalOnProperty(name = InvalidationBus.PROPERTY, havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LocalInvalidationBus implements InvalidationBus {
+
+    List<InvalidationListener> listeners;
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        listeners.forEach(listener -> listener.onInvalidation(event));
+    }
+}
@@ -0,0 +1,43 @@
+package com.ketealare.identityService.logging;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+
+/*
+ * One line per request with its timing fields. Only a sample of the requests is logged, server errors and
+ * slow requests always are. The sample rate is part of the line so counts can be scaled back up.
+ */
+class AccessLog {
+
+    private final Logger log;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    AccessLog(Logger log, double sampleRate, Duration slowThreshold) {
+        this.log = log;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    void record(String method, String path, int status, long durationNanos) {
+        boolean slow = durationNanos >= slowThresholdNanos;
+
+        if (status < 500 && !slow && ThreadLocalRandom.current().nextDouble() >= sampleRate) return;
+
+        // Arguments are only allocated for lines that are actually written
+        if (!log.isInfoEnabled()) return;
+
+        log.info(
+                "{} {} {} {} {} {}",
+                kv("method", method),
+                kv("path", path),
+                kv("status", status),
+                kv("duration_us", durationNanos / 1_000),
+                kv("slow", slow),
+                kv("sample_rate", sampleRate));
+    }
+}
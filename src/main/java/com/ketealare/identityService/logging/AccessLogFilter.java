@@ -0,0 +1,44 @@
+package com.ketealare.identityService.logging;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// Runs before the security filter chain so rejected requests are timed too
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final AccessLog accessLog;
+
+    public AccessLogFilter(
+            @Value("${access-log.sample-rate:0.01}") double sampleRate,
+            @Value("${access-log.slow-threshold:500ms}") Duration slowThreshold) {
+        this.accessLog = new AccessLog(LoggerFactory.getLogger(AccessLog.class), sampleRate, slowThreshold);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long start = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            accessLog.record(request.getMethod(), request.getRequestURI(), status, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.ketealare.identityService.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/*
+ * Lets at most `permits` errors through per window, the rest are counted and reported with the next error
+ * that gets through. A burst of identical failures then costs one stack trace instead of thousands.
+ */
+public class RateLimitedLogger {
+
+    private final Logger delegate;
+    private final int permits;
+    private final long windowNanos;
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger used = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public RateLimitedLogger(Logger delegate, int permits, Duration window) {
+        this.delegate = delegate;
+        this.permits = permits;
+        this.windowNanos = window.toNanos();
+    }
+
+    public void error(String message, Throwable throwable) {
+        if (!delegate.isErrorEnabled()) return;
+
+        if (!tryAcquire()) {
+            suppressed.incrementAndGet();
+            return;
+        }
+
+        long dropped = suppressed.getAndSet(0);
+        if (dropped > 0) delegate.error("{} ({} similar errors suppressed)", message, dropped, throwable);
+        else delegate.error(message, throwable);
+    }
+
+    // Fixed window, a racing reset may let a few extra errors through which is fine for logging
+    private boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) used.set(0);
+
+        return used.incrementAndGet() <= permits;
+    }
+}
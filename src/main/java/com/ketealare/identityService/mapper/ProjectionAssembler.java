@@ -0,0 +1,105 @@
+package com.ketealare.identityService.mapper;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.ketealare.identityService.dto.response.CompactUserResponse;
+import com.ketealare.identityService.dto.response.PermissionResponse;
+import com.ketealare.identityService.dto.response.RoleResponse;
+import com.ketealare.identityService.dto.response.UserResponse;
+import com.ketealare.identityService.repository.RolePermissionRow;
+import com.ketealare.identityService.repository.UserRoleRow;
+
+/*
+ * Builds nested responses from the flat projection rows of the listing queries. Nothing goes through the
+ * persistence context, so there are no entity snapshots, proxies or lazy loads.
+ * Rows must be grouped by their first column, the queries order them that way.
+ */
+public final class ProjectionAssembler {
+
+    private ProjectionAssembler() {}
+
+    // Role name -> response, in query order
+    public static Map<String, RoleResponse> roles(List<RolePermissionRow> rows) {
+        Map<String, RoleResponse> roles = new LinkedHashMap<>();
+
+        for (RolePermissionRow row : rows) {
+            RoleResponse role = roles.computeIfAbsent(row.roleName(), name -> RoleResponse.builder()
+                    .name(name)
+                    .description(row.roleDescription())
+                    .permissions(new HashSet<>())
+                    .build());
+
+            if (Objects.nonNull(row.permissionName())) {
+                role.getPermissions()
+                        .add(PermissionResponse.builder()
+                                .name(row.permissionName())
+                                .description(row.permissionDescription())
+                                .build());
+            }
+        }
+
+        return roles;
+    }
+
+    // Users that have the same role share its RoleResponse instance
+    public static List<UserResponse> users(List<UserRoleRow> rows, Map<String, RoleResponse> roles) {
+        List<UserResponse> users = new ArrayList<>();
+
+        UserResponse current = null;
+        UUID currentId = null;
+
+        for (UserRoleRow row : rows) {
+            if (!row.id().equals(currentId)) {
+                currentId = row.id();
+                current = UserResponse.builder()
+                        .id(currentId.toString())
+                        .username(row.username())
+                        .firstName(row.firstName())
+                        .lastName(row.lastName())
+                        .dob(row.dob())
+                        .version(row.version())
+                        .roles(new HashSet<>())
+                        .build();
+                users.add(current);
+            }
+
+            if (Objects.nonNull(row.roleName())) current.getRoles().add(roles.get(row.roleName()));
+        }
+
+        return users;
+    }
+
+    // Users with role names only, the caller lists each role once next to them
+    public static List<CompactUserResponse> compactUsers(List<UserRoleRow> rows) {
+        List<CompactUserResponse> users = new ArrayList<>();
+
+        CompactUserResponse current = null;
+        UUID currentId = null;
+
+        for (UserRoleRow row : rows) {
+            if (!row.id().equals(currentId)) {
+                currentId = row.id();
+                current = CompactUserResponse.builder()
+                        .id(currentId.toString())
+                        .username(row.username())
+                        .firstName(row.firstName())
+                        .lastName(row.lastName())
+                        .dob(row.dob())
+                        .version(row.version())
+                        .roles(new HashSet<>())
+                        .build();
+                users.add(current);
+            }
+
+            if (Objects.nonNull(row.roleName())) current.getRoles().add(row.roleName());
+        }
+
+        return users;
+    }
+}
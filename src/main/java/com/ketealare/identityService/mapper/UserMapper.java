@@ -16,6 +16,8 @@ public interface UserMapper {
 
     UserResponse toUserResponse(User user);
 
+    // The password is hashed by the service, copying it would store the plain text or wipe the hash
+    @Mapping(target = "password", ignore = true)
     @Mapping(target = "roles", ignore = true)
     void updateUser(@MappingTarget User user, UserUpdateRequest request);
 }
@@ -0,0 +1,76 @@
+package com.ketealare.identityService.metrics;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/*
+ * Per-stage timers of the login and token verification paths.
+ * Histogram buckets are configured under management.metrics.distribution.*.identity in application.yaml.
+ */
+@Getter
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AuthenticationMetrics {
+
+    public static final String STAGE_TIMER = "identity.auth.stage";
+    public static final String DECODE_TIMER = "identity.jwt.decode";
+    public static final String LOGIN_COUNTER = "identity.auth.login";
+
+    // authenticate
+    Timer userLookup;
+    Timer passwordMatch;
+
+    // generateToken
+    Timer scopeBuild;
+    Timer tokenSign;
+
+    // verifyToken
+    Timer tokenParse;
+    Timer macVerify;
+    Timer revocationLookup;
+
+    // CustomJwtDecoder.decode, covers the verifyToken stages
+    Timer jwtDecode;
+
+    Counter loginSuccess;
+    Counter loginUnknownUser;
+    Counter loginBadPassword;
+
+    public AuthenticationMetrics(MeterRegistry registry) {
+        userLookup = stage(registry, "user_lookup");
+        passwordMatch = stage(registry, "password_match");
+        scopeBuild = stage(registry, "scope_build");
+        tokenSign = stage(registry, "token_sign");
+        tokenParse = stage(registry, "token_parse");
+        macVerify = stage(registry, "mac_verify");
+        revocationLookup = stage(registry, "revocation_lookup");
+
+        jwtDecode = Timer.builder(DECODE_TIMER)
+                .description("Bearer token decoding of authenticated requests")
+                .register(registry);
+
+        loginSuccess = login(registry, "success");
+        loginUnknownUser = login(registry, "unknown_user");
+        loginBadPassword = login(registry, "bad_password");
+    }
+
+    private static Timer stage(MeterRegistry registry, String stage) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Time spent in one stage of token issuing or verification")
+                .tag("stage", stage)
+                .register(registry);
+    }
+
+    private static Counter login(MeterRegistry registry, String outcome) {
+        return Counter.builder(LOGIN_COUNTER)
+                .description("Login attempts on /auth/token")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
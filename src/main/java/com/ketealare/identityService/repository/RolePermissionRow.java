@@ -0,0 +1,5 @@
+package com.ketealare.identityService.repository;
+
+// One row per role and permission, the permission columns are null for a role without permissions
+public record RolePermissionRow(
+        String roleName, String roleDescription, String permissionName, String permissionDescription) {}
@@ -1,9 +1,18 @@
 package com.ketealare.identityService.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.ketealare.identityService.entity.Role;
 
 @Repository
-public interface RoleRepository extends JpaRepository<Role, String> {}
+public interface RoleRepository extends JpaRepository<Role, String> {
+
+    // Flat rows for listings, assembled by ProjectionAssembler without loading entities
+    @Query("select new com.ketealare.identityService.repository.RolePermissionRow(r.name, r.description,"
+            + " p.name, p.description) from Role r left join r.permissions p order by r.name, p.name")
+    List<RolePermissionRow> findRolePermissionRows();
+}
@@ -1,15 +1,45 @@
 package com.ketealare.identityService.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.ketealare.identityService.entity.User;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserSearchRepository {
     boolean existsByUsername(String username);
 
+    // Login and token refresh read outside a service transaction, read-only sends them to the replica.
+    // Roles and permissions come in the same query, the token scope is built after the connection is released.
+    @Transactional(readOnly = true)
+    @EntityGraph(attributePaths = {"roles", "roles.permissions"})
     Optional<User> findByUsername(String username);
+
+    // Single column lookup to validate cached responses
+    @Query("select u.version from User u where u.username = :username")
+    Optional<Long> findVersionByUsername(@Param("username") String username);
+
+    // Flat rows for listings, assembled by ProjectionAssembler without loading entities
+    @Query("select new com.ketealare.identityService.repository.UserRoleRow(u.id, u.username, u.firstName, u.lastName,"
+            + " u.dob, u.version, r.name) from User u left join u.roles r order by u.id")
+    List<UserRoleRow> findUserRoleRows();
+
+    // Rows of one search page, in page order
+    @Query("select new com.ketealare.identityService.repository.UserRoleRow(u.id, u.username, u.firstName, u.lastName,"
+            + " u.dob, u.version, r.name) from User u left join u.roles r where u.id in :ids order by u.username, u.id")
+    List<UserRoleRow> findUserRoleRowsByIds(@Param("ids") Collection<UUID> ids);
+
+    // Batch uniqueness check for bulk imports
+    @Query("select u.username from User u where u.username in :usernames")
+    Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
 }
@@ -0,0 +1,8 @@
+package com.ketealare.identityService.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// One row per user and role of a user listing, roleName is null for a user without roles
+public record UserRoleRow(
+        UUID id, String username, String firstName, String lastName, LocalDate dob, Long version, String roleName) {}
@@ -0,0 +1,21 @@
+package com.ketealare.identityService.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.ketealare.identityService.entity.User;
+
+// Search queries that select ids only, implemented with the Criteria API in UserSearchRepositoryImpl
+public interface UserSearchRepository {
+
+    List<UUID> findIds(Specification<User> specification, Sort sort, int limit);
+
+    /*
+     * Counts in the database over a subquery limited to cap + 1 ids, so a broad filter reads at most that many
+     * index entries and returns a single number. A result above cap means "more than cap".
+     */
+    long countUpTo(Specification<User> specification, int cap);
+}
@@ -0,0 +1,80 @@
+package com.ketealare.identityService.repository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.hibernate.query.criteria.JpaDerivedRoot;
+import org.hibernate.query.criteria.JpaPath;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.query.criteria.JpaSubQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.ketealare.identityService.entity.User;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    EntityManager entityManager;
+
+    @Override
+    public List<UUID> findIds(Specification<User> specification, Sort sort, int limit) {
+        CriteriaQuery<UUID> query = idQuery(specification);
+        Root<?> root = query.getRoots().iterator().next();
+        query.orderBy(QueryUtils.toOrders(sort, root, entityManager.getCriteriaBuilder()));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    // select count(id) from (select id from user where ... limit cap + 1): only the count leaves the database
+    @Override
+    public long countUpTo(Specification<User> specification, int cap) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        JpaCriteriaQuery<Long> query = cb.createQuery(Long.class);
+
+        JpaSubQuery<UUID> ids = query.subquery(UUID.class);
+        JpaRoot<User> root = ids.from(User.class);
+        JpaPath<UUID> id = root.get("id");
+        id.alias("id"); // columns of a derived table must be named
+        ids.select(id).fetch(cap + 1);
+
+        if (Objects.nonNull(specification)) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (Objects.nonNull(predicate)) ids.where(predicate);
+        }
+
+        JpaDerivedRoot<UUID> matches = query.from(ids);
+        query.select(cb.count(matches.get("id")));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private CriteriaQuery<UUID> idQuery(Specification<User> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> query = cb.createQuery(UUID.class);
+        Root<User> root = query.from(User.class);
+        query.select(root.<UUID>get("id"));
+
+        if (Objects.nonNull(specification)) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (Objects.nonNull(predicate)) query.where(predicate);
+        }
+
+        return query;
+    }
+}
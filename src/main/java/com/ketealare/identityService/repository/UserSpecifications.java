@@ -0,0 +1,57 @@
+package com.ketealare.identityService.repository;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.ketealare.identityService.entity.User;
+
+// Search filters, each returns null for a missing value so Specification.where(...).and(...) skips it
+public final class UserSpecifications {
+
+    private UserSpecifications() {}
+
+    public static Specification<User> usernameStartsWith(String prefix) {
+        if (Objects.isNull(prefix)) return null;
+        return (root, query, cb) -> startsWith(cb, root.get("username"), prefix);
+    }
+
+    public static Specification<User> nameStartsWith(String prefix) {
+        if (Objects.isNull(prefix)) return null;
+        return (root, query, cb) ->
+                cb.or(startsWith(cb, root.get("firstName"), prefix), startsWith(cb, root.get("lastName"), prefix));
+    }
+
+    // A user holds a role at most once, the join does not duplicate rows
+    public static Specification<User> hasRole(String role) {
+        if (Objects.isNull(role)) return null;
+        return (root, query, cb) -> cb.equal(root.join("roles").get("name"), role);
+    }
+
+    public static Specification<User> bornFrom(LocalDate from) {
+        if (Objects.isNull(from)) return null;
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dob"), from);
+    }
+
+    public static Specification<User> bornTo(LocalDate to) {
+        if (Objects.isNull(to)) return null;
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dob"), to);
+    }
+
+    // Keyset pagination, with ORDER BY username the page continues on the username index
+    public static Specification<User> usernameAfter(String username) {
+        if (Objects.isNull(username)) return null;
+        return (root, query, cb) -> cb.greaterThan(root.get("username"), username);
+    }
+
+    // A constant prefix keeps LIKE an index range scan, wildcards in the input are matched literally
+    private static Predicate startsWith(CriteriaBuilder cb, Expression<String> path, String prefix) {
+        String escaped = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return cb.like(path, escaped + "%", '\\');
+    }
+}
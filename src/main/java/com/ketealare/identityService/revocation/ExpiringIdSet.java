@@ -0,0 +1,38 @@
+package com.ketealare.identityService.revocation;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Ids with an expiry, expired ids are swept out every SWEEP_EVERY additions instead of by a timer
+class ExpiringIdSet {
+
+    static final int SWEEP_EVERY = 1024;
+
+    private final Map<UUID, Long> expiries = new ConcurrentHashMap<>();
+    private final AtomicInteger additions = new AtomicInteger();
+
+    boolean contains(UUID id) {
+        Long expiresAt = expiries.get(id);
+
+        return Objects.nonNull(expiresAt) && expiresAt > System.currentTimeMillis();
+    }
+
+    void add(UUID id, Instant expiresAt) {
+        expiries.put(id, expiresAt.toEpochMilli());
+
+        if (additions.incrementAndGet() % SWEEP_EVERY == 0) sweep();
+    }
+
+    int size() {
+        return expiries.size();
+    }
+
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        expiries.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ketealare.identityService.revocation;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.ketealare.identityService.invalidation.InvalidationEvent;
+import com.ketealare.identityService.invalidation.InvalidationKind;
+import com.ketealare.identityService.invalidation.InvalidationListener;
+
+// Revocations live until the token expires or the process stops, other nodes learn them over the invalidation bus
+@Component
+@ConditionalOnProperty(name = RevocationStore.PROPERTY, havingValue = "memory")
+public class InMemoryRevocationStore implements RevocationStore, InvalidationListener {
+
+    private final ExpiringIdSet revoked = new ExpiringIdSet();
+
+    @Override
+    public boolean isRevoked(UUID tokenId) {
+        return revoked.contains(tokenId);
+    }
+
+    @Override
+    public void revoke(UUID tokenId, Instant expiresAt) {
+        revoked.add(tokenId, expiresAt);
+    }
+
+    // Revocations published by other nodes
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (event.kind() == InvalidationKind.TOKEN) revoked.add(UUID.fromString(event.key()), event.expiresAt());
+    }
+}
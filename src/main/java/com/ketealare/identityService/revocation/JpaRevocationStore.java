@@ -0,0 +1,40 @@
+package com.ketealare.identityService.revocation;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ketealare.identityService.entity.InvalidatedToken;
+import com.ketealare.identityService.repository.InvalidatedTokenRepository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Component
+@ConditionalOnProperty(name = RevocationStore.PROPERTY, havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class JpaRevocationStore implements RevocationStore {
+
+    InvalidatedTokenRepository invalidatedTokenRepository;
+
+    // Not read-only, so with routing on the lookup goes to the primary: a logout must not wait for the replica
+    @Override
+    @Transactional
+    public boolean isRevoked(UUID tokenId) {
+        return invalidatedTokenRepository.existsById(tokenId);
+    }
+
+    @Override
+    public void revoke(UUID tokenId, Instant expiresAt) {
+        invalidatedTokenRepository.save(InvalidatedToken.builder()
+                .id(tokenId)
+                .expiryTime(Date.from(expiresAt))
+                .build());
+    }
+}
@@ -0,0 +1,20 @@
+package com.ketealare.identityService.revocation;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/*
+ * Where revoked token ids (JWT jti) are kept. A revocation only has to outlive the token, after expiresAt the
+ * token is rejected by its expiry anyway. The implementation is chosen with identity.revocation.store:
+ *   jpa          the invalidated_token table, every lookup is a query (default)
+ *   memory       this node only, for single node deployments and tests
+ *   write-behind local set answering own revocations, written to invalidated_token in batches
+ */
+public interface RevocationStore {
+
+    String PROPERTY = "identity.revocation.store";
+
+    boolean isRevoked(UUID tokenId);
+
+    void revoke(UUID tokenId, Instant expiresAt);
+}
@@ -0,0 +1,151 @@
+package com.ketealare.identityService.revocation;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ketealare.identityService.identifier.TimeOrderedIds;
+import com.ketealare.identityService.invalidation.InvalidationEvent;
+import com.ketealare.identityService.invalidation.InvalidationKind;
+import com.ketealare.identityService.invalidation.InvalidationListener;
+import com.ketealare.identityService.logging.RateLimitedLogger;
+import com.ketealare.identityService.repository.InvalidatedTokenRepository;
+
+/*
+ * Logout returns once the revocation is in the local set, the invalidated_token rows are inserted in
+ * batches every flush interval. This node answers its own revocations from memory; tokens revoked by other
+ * nodes are found in the table once their writer has flushed, so a peer can accept a revoked token for up
+ * to one flush interval. Failed batches stay queued and are retried with the next flush. The flusher stops
+ * after the web server; a logout still finishing after that is written straight to the table.
+ */
+@Component
+@ConditionalOnProperty(name = RevocationStore.PROPERTY, havingValue = "write-behind")
+public class WriteBehindRevocationStore implements RevocationStore, InvalidationListener, SmartLifecycle {
+
+    // Stops after WebServerGracefulShutdownLifecycle, so requests finishing during a graceful shutdown are flushed
+    static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindRevocationStore.class);
+
+    // Refreshing or logging out the same token twice must not fail the whole batch
+    static final String INSERT_REVOKED = "insert ignore into invalidated_token (id, expiry_time) values (?, ?)";
+
+    private final RateLimitedLogger errorLog = new RateLimitedLogger(log, 1, Duration.ofSeconds(10));
+
+    private final InvalidatedTokenRepository invalidatedTokenRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final long flushIntervalMillis;
+    private final int batchSize;
+
+    private final ExpiringIdSet revoked = new ExpiringIdSet();
+    private final Queue<Revocation> pending = new ConcurrentLinkedQueue<>();
+
+    private volatile ScheduledExecutorService flusher;
+    private volatile boolean stopped;
+
+    public WriteBehindRevocationStore(
+            InvalidatedTokenRepository invalidatedTokenRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${identity.revocation.flush-interval:100ms}") Duration flushInterval,
+            @Value("${identity.revocation.batch-size:500}") int batchSize) {
+        this.invalidatedTokenRepository = invalidatedTokenRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean isRevoked(UUID tokenId) {
+        return revoked.contains(tokenId) || invalidatedTokenRepository.existsById(tokenId);
+    }
+
+    @Override
+    public void revoke(UUID tokenId, Instant expiresAt) {
+        revoked.add(tokenId, expiresAt);
+        pending.add(new Revocation(tokenId, expiresAt));
+
+        if (stopped) flush();
+    }
+
+    // Revocations of other nodes, answered locally from now on; writing them is the publisher's job
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (event.kind() == InvalidationKind.TOKEN) revoked.add(UUID.fromString(event.key()), event.expiresAt());
+    }
+
+    @Override
+    public void start() {
+        stopped = false;
+        flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("revocation-writer").daemon().factory());
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Runs after the web server and before the DataSource is closed, pending revocations are written one last time
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = flusher;
+        if (Objects.isNull(executor)) return;
+
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        stopped = true;
+        flush();
+        flusher = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return Objects.nonNull(flusher);
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    void flush() {
+        while (!pending.isEmpty()) {
+            List<Revocation> batch = new ArrayList<>(batchSize);
+
+            Revocation revocation;
+            while (batch.size() < batchSize && Objects.nonNull(revocation = pending.poll())) batch.add(revocation);
+
+            try {
+                jdbcTemplate.batchUpdate(INSERT_REVOKED, batch, batch.size(), (ps, r) -> {
+                    ps.setBytes(1, TimeOrderedIds.toBytes(r.tokenId()));
+                    ps.setTimestamp(2, Timestamp.from(r.expiresAt()));
+                });
+            } catch (RuntimeException e) {
+                pending.addAll(batch);
+                errorLog.error("Cannot write " + batch.size() + " revoked tokens, retrying", e);
+                return;
+            }
+        }
+    }
+
+    private record Revocation(UUID tokenId, Instant expiresAt) {}
+}
@@ -0,0 +1,58 @@
+package com.ketealare.identityService.serialization;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ketealare.identityService.dto.response.ApiResponse;
+import com.ketealare.identityService.dto.response.IntrospectResponse;
+import com.ketealare.identityService.exception.ErrorCode;
+
+/*
+ * Response bodies that never change, serialized once at startup. Writing them costs a copy of the array
+ * instead of a reflective Jackson pass and the ApiResponse it serializes.
+ * Callers must not modify the returned arrays.
+ */
+@Component
+public class PrecomputedResponses {
+
+    private final byte[] introspectValid;
+    private final byte[] introspectInvalid;
+    private final Map<ErrorCode, byte[]> errors = new EnumMap<>(ErrorCode.class);
+
+    public PrecomputedResponses(ObjectMapper objectMapper) {
+        try {
+            introspectValid = objectMapper.writeValueAsBytes(introspect(true));
+            introspectInvalid = objectMapper.writeValueAsBytes(introspect(false));
+
+            for (ErrorCode errorCode : ErrorCode.values()) {
+                errors.put(
+                        errorCode,
+                        objectMapper.writeValueAsBytes(ApiResponse.builder()
+                                .code(errorCode.getCode())
+                                .message(errorCode.getMessage())
+                                .build()));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize constant responses", e);
+        }
+    }
+
+    public byte[] introspect(boolean valid) {
+        return valid ? introspectValid : introspectInvalid;
+    }
+
+    // Message placeholders such as {min} are left as they are, same as the AppException handler does
+    public byte[] error(ErrorCode errorCode) {
+        return errors.get(errorCode);
+    }
+
+    private static ApiResponse<IntrospectResponse> introspect(boolean valid) {
+        return ApiResponse.<IntrospectResponse>builder()
+                .result(IntrospectResponse.builder().valid(valid).build())
+                .build();
+    }
+}
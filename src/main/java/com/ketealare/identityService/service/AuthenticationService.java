@@ -7,6 +7,8 @@ import java.util.Date;
 import java.util.StringJoiner;
 import java.util.UUID;
 
+import jakarta.annotation.PostConstruct;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,24 +17,32 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
+import com.ketealare.identityService.audit.AuditEventType;
+import com.ketealare.identityService.audit.AuditTrail;
 import com.ketealare.identityService.dto.request.AuthenticationRequest;
 import com.ketealare.identityService.dto.request.IntrospectRequest;
 import com.ketealare.identityService.dto.request.LogoutRequest;
 import com.ketealare.identityService.dto.request.RefreshTokenRequest;
 import com.ketealare.identityService.dto.response.AuthenticationResponse;
 import com.ketealare.identityService.dto.response.IntrospectResponse;
-import com.ketealare.identityService.entity.InvalidatedToken;
 import com.ketealare.identityService.entity.User;
 import com.ketealare.identityService.exception.AppException;
 import com.ketealare.identityService.exception.ErrorCode;
-import com.ketealare.identityService.repository.InvalidatedTokenRepository;
+import com.ketealare.identityService.identifier.TimeOrderedIds;
+import com.ketealare.identityService.invalidation.InvalidationBus;
+import com.ketealare.identityService.invalidation.InvalidationEvent;
+import com.ketealare.identityService.metrics.AuthenticationMetrics;
 import com.ketealare.identityService.repository.UserRepository;
+import com.ketealare.identityService.revocation.InMemoryRevocationStore;
+import com.ketealare.identityService.revocation.RevocationStore;
 import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -45,7 +55,10 @@ public class AuthenticationService {
 
     private static final Logger log = LoggerFactory.getLogger(AuthenticationService.class);
     UserRepository userRepository;
-    InvalidatedTokenRepository invalidatedTokenRepository;
+    RevocationStore revocationStore;
+    AuthenticationMetrics metrics;
+    AuditTrail auditTrail;
+    InvalidationBus invalidationBus;
 
     @NonFinal
     @Value("${jwt.signerKey}")
@@ -59,55 +72,55 @@ public class AuthenticationService {
     @Value("${jwt.refreshable-duration}")
     protected long REFRESH_DURATION;
 
-    // GET Token from request and verify
-    public IntrospectResponse introspect(IntrospectRequest request) throws JOSEException, ParseException {
-
-        var token = request.getToken();
+    // MACVerifier is used to verify the JWT signature to ensure that the token has not been altered and was created
+    // by a trusted source. The key never changes, so one verifier serves every request.
+    @NonFinal
+    JWSVerifier verifier;
 
-        boolean isValid = true;
+    @PostConstruct
+    void createVerifier() {
         try {
-            verifyToken(token, false);
-        } catch (AppException e) {
-            isValid = false;
+            verifier = new MACVerifier(SIGNER_KEY.getBytes());
+        } catch (JOSEException e) {
+            throw new IllegalStateException("jwt.signerKey cannot be used as an HMAC key", e);
         }
-
-        return IntrospectResponse.builder().valid(isValid).build();
     }
 
-    // Log out service for users
-    public void logOut(LogoutRequest request) throws ParseException, JOSEException {
+    // GET Token from request and verify
+    public IntrospectResponse introspect(IntrospectRequest request) throws JOSEException {
 
-        try {
-            var signToken = verifyToken(request.getToken(), true);
+        var verification = verifyToken(request.getToken(), false);
 
-            String jit = signToken.getJWTClaimsSet().getJWTID();
-            Date expiryTime = signToken.getJWTClaimsSet().getExpirationTime();
+        return IntrospectResponse.builder().valid(verification.valid()).build();
+    }
 
-            InvalidatedToken invalidatedToken =
-                    InvalidatedToken.builder().id(jit).expiryTime(expiryTime).build();
+    // Log out service for users
+    public void logOut(LogoutRequest request) throws ParseException, JOSEException {
 
-            invalidatedTokenRepository.save(invalidatedToken);
+        var verification = verifyToken(request.getToken(), true);
 
-        } catch (AppException e) {
+        if (!verification.valid()) {
             log.info("Token already expired");
+            return;
         }
+
+        var signToken = verification.token();
+        String jit = signToken.getJWTClaimsSet().getJWTID();
+
+        revoke(UUID.fromString(jit), revokedUntil(signToken.getJWTClaimsSet()));
+        auditTrail.record(AuditEventType.LOGOUT, signToken.getJWTClaimsSet().getSubject(), jit);
     }
 
     // Refresh Token
     // spotless: off
     public AuthenticationResponse refreshToken(RefreshTokenRequest request) throws ParseException, JOSEException {
 
-        var signJWT = verifyToken(request.getToken(), true); // -> // Check valid token
+        var signJWT = verifyToken(request.getToken(), true).orThrow(); // -> // Check valid token
 
         var jit = signJWT.getJWTClaimsSet().getJWTID(); // -> Get jwt token Id
-        var expiryTime = signJWT.getJWTClaimsSet().getExpirationTime(); // -> Get expiry time
 
         // Disable token
-        InvalidatedToken invalidatedToken =
-                InvalidatedToken.builder().id(jit).expiryTime(expiryTime).build();
-
-        // Save disable token request to database
-        invalidatedTokenRepository.save(invalidatedToken);
+        revoke(UUID.fromString(jit), revokedUntil(signJWT.getJWTClaimsSet()));
 
         // Refresh new token for user, will find user
         var username = signJWT.getJWTClaimsSet().getSubject();
@@ -115,71 +128,133 @@ public class AuthenticationService {
 
         // Generate new token
         var token = generateToken(user);
+        auditTrail.record(AuditEventType.TOKEN_REFRESH, username, jit);
 
         // Return new token
         return AuthenticationResponse.builder().token(token).authenticated(true).build();
     }
 
     // spotless: on
-    // Verify Token from request valid or not?
-    private SignedJWT verifyToken(String token, boolean isRefreshToken) throws JOSEException, ParseException {
+    /*
+     * Same key, durations and code paths, but revocations are looked up in an empty local set and stage timings go
+     * to a private registry. JitWarmup loops on it without querying the database or skewing identity.auth.*.
+     */
+    public AuthenticationService isolatedCopy() {
+        AuthenticationService copy = new AuthenticationService(
+                userRepository,
+                new InMemoryRevocationStore(),
+                new AuthenticationMetrics(new SimpleMeterRegistry()),
+                auditTrail,
+                invalidationBus);
+
+        copy.SIGNER_KEY = SIGNER_KEY;
+        copy.VALID_DURATION = VALID_DURATION;
+        copy.REFRESH_DURATION = REFRESH_DURATION;
+        copy.createVerifier();
+
+        return copy;
+    }
 
-        // MACVerifier is used to verify the JWT signature to ensure that the token has not been altered and was created
-        // by a trusted source.
-        JWSVerifier verifier = new MACVerifier(SIGNER_KEY.getBytes());
+    // Verify Token from request valid or not? Bad tokens are reported in the result, nothing is thrown for them
+    TokenVerification verifyToken(String token, boolean isRefreshToken) throws JOSEException {
 
         // Converts the token string into a SignedJWT object
-        SignedJWT signedJWT = SignedJWT.parse(token);
+        Timer.Sample sample = Timer.start();
+        SignedJWT signedJWT;
+        JWTClaimsSet claims;
+        try {
+            signedJWT = SignedJWT.parse(token);
+            claims = signedJWT.getJWTClaimsSet();
+        } catch (ParseException e) {
+            return TokenVerification.failed(TokenVerification.Failure.MALFORMED);
+        } finally {
+            sample.stop(metrics.getTokenParse());
+        }
+
+        sample = Timer.start();
+        boolean verified;
+        try {
+            verified = signedJWT.verify(verifier);
+        } catch (JOSEException e) {
+            verified = false; // the header names an algorithm other than HMAC
+        } finally {
+            sample.stop(metrics.getMacVerify());
+        }
+
+        // The token's signature must be valid, only then are its claims trusted
+        if (!verified) return TokenVerification.failed(TokenVerification.Failure.BAD_SIGNATURE);
 
         Date expirationDate = (isRefreshToken)
-                ? new Date(signedJWT
-                        .getJWTClaimsSet()
-                        .getIssueTime()
+                ? new Date(claims.getIssueTime()
                         .toInstant()
                         .plus(REFRESH_DURATION, ChronoUnit.SECONDS)
                         .toEpochMilli())
-                : signedJWT.getJWTClaimsSet().getExpirationTime();
+                : claims.getExpirationTime();
 
-        var verified = signedJWT.verify(verifier);
+        // Token has not expired
+        if (!expirationDate.after(new Date())) return TokenVerification.failed(TokenVerification.Failure.EXPIRED);
 
-        // The token's signature must be valid and Token has not expired
-        if (!(verified && expirationDate.after(new Date()))) {
-            throw new AppException(ErrorCode.UNAUTHENTICATED);
-        }
+        // If the token has been revoked (logout, refresh), action will not be allowed
+        sample = Timer.start();
+        boolean revoked = revocationStore.isRevoked(UUID.fromString(claims.getJWTID()));
+        sample.stop(metrics.getRevocationLookup());
 
-        // If the token already exists in the InvalidatedToken database, action will not be allowed
-        if (invalidatedTokenRepository.existsById(signedJWT.getJWTClaimsSet().getJWTID())) {
-            throw new AppException(ErrorCode.UNAUTHENTICATED);
-        }
+        if (revoked) return TokenVerification.failed(TokenVerification.Failure.REVOKED);
 
-        return signedJWT;
+        return TokenVerification.verified(signedJWT);
+    }
+
+    // Peers with a local revocation set learn about it over the bus instead of asking the database
+    private void revoke(UUID tokenId, Instant revokedUntil) {
+        revocationStore.revoke(tokenId, revokedUntil);
+        invalidationBus.publish(InvalidationEvent.token(tokenId, revokedUntil));
+    }
+
+    // A token can be refreshed until issueTime + REFRESH_DURATION, its revocation has to last at least as long
+    private Instant revokedUntil(JWTClaimsSet claims) {
+        Instant expiresAt = claims.getExpirationTime().toInstant();
+        Instant refreshableUntil = claims.getIssueTime().toInstant().plus(REFRESH_DURATION, ChronoUnit.SECONDS);
+
+        return refreshableUntil.isAfter(expiresAt) ? refreshableUntil : expiresAt;
     }
 
     // Using username and password -> generate Token
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
 
-        var user = userRepository
-                .findByUsername(request.getUsername())
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED)); // -> Find if username exists or not?
+        Timer.Sample sample = Timer.start();
+        var user = userRepository.findByUsername(request.getUsername());
+        sample.stop(metrics.getUserLookup());
+
+        if (user.isEmpty()) {
+            metrics.getLoginUnknownUser().increment();
+            auditTrail.record(AuditEventType.LOGIN_FAILURE, request.getUsername(), "unknown user");
+            throw new AppException(ErrorCode.USER_NOT_EXISTED); // -> Find if username exists or not?
+        }
 
         PasswordEncoder passwordEncoder =
                 new BCryptPasswordEncoder(10); // -> Encrypt password to a hashed string with 10 characters
 
+        sample = Timer.start();
         boolean authenticated = passwordEncoder.matches(
                 request.getPassword(),
-                user.getPassword()); // -> Matching between password in database and request password
+                user.get().getPassword()); // -> Matching between password in database and request password
+        sample.stop(metrics.getPasswordMatch());
 
         if (!authenticated) {
+            metrics.getLoginBadPassword().increment();
+            auditTrail.record(AuditEventType.LOGIN_FAILURE, request.getUsername(), "bad password");
             throw new AppException(ErrorCode.UNAUTHENTICATED); // -> If wrong return error unauthenticated
         }
 
-        var token = generateToken(user); // -> If true will generate new token for this user
+        var token = generateToken(user.get()); // -> If true will generate new token for this user
+        metrics.getLoginSuccess().increment();
+        auditTrail.record(AuditEventType.LOGIN_SUCCESS, request.getUsername(), null);
 
         return AuthenticationResponse.builder().token(token).authenticated(true).build();
     }
 
     // Token Structure: Header.Payload.VerifiedSignature
-    String generateToken(User user) {
+    public String generateToken(User user) {
 
         // Step 1: Create header (contain Algorithms type): using JWSHeader
         // Step 2: Create JWTClaimsSet contain user data and put into Payload (JWTClaimsSet -> toJSONObject)
@@ -188,6 +263,10 @@ public class AuthenticationService {
         // Header Token: Contain hash algorithms type
         JWSHeader header = new JWSHeader(JWSAlgorithm.HS512);
 
+        Timer.Sample sample = Timer.start();
+        String scope = buildScope(user);
+        sample.stop(metrics.getScopeBuild());
+
         // Payload (ClaimsSet)
         JWTClaimsSet jwtClaimsSet = new JWTClaimsSet.Builder()
                 .subject(user.getUsername()) // -> Username
@@ -196,8 +275,8 @@ public class AuthenticationService {
                 .expirationTime(new Date(
                         Instant.now().plus(VALID_DURATION, ChronoUnit.SECONDS).toEpochMilli() // -> Expiry Time
                         ))
-                .jwtID(UUID.randomUUID().toString()) // -> Token ID
-                .claim("scope", buildScope(user)) // -> Scope, Role, Permission
+                .jwtID(TimeOrderedIds.next().toString()) // -> Token ID, time ordered for the revocation index
+                .claim("scope", scope) // -> Scope, Role, Permission
                 .build();
 
         // Converting JWTClaimsSet to JSON and put into Payload
@@ -207,17 +286,20 @@ public class AuthenticationService {
         JWSObject jwsObject = new JWSObject(header, payload);
 
         // Add VerifiedSignature
+        sample = Timer.start();
         try {
             jwsObject.sign(new MACSigner(SIGNER_KEY.getBytes()));
             return jwsObject.serialize();
         } catch (JOSEException e) {
             log.error("Cannot sign JWT object", e);
             throw new RuntimeException(e);
+        } finally {
+            sample.stop(metrics.getTokenSign());
         }
     }
 
     // Create and add Scope (Role and Permission) into Token
-    private String buildScope(User user) {
+    String buildScope(User user) {
         StringJoiner stringJoiner = new StringJoiner(" ");
 
         if (!CollectionUtils.isEmpty(user.getRoles()))
@@ -3,10 +3,17 @@ package com.ketealare.identityService.service;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.ketealare.identityService.audit.AuditEventType;
+import com.ketealare.identityService.audit.AuditTrail;
 import com.ketealare.identityService.dto.request.PermissionRequest;
 import com.ketealare.identityService.dto.response.PermissionResponse;
 import com.ketealare.identityService.entity.Permission;
+import com.ketealare.identityService.exception.AppException;
+import com.ketealare.identityService.exception.ErrorCode;
+import com.ketealare.identityService.invalidation.InvalidationBus;
+import com.ketealare.identityService.invalidation.InvalidationEvent;
 import com.ketealare.identityService.mapper.PermissionMapper;
 import com.ketealare.identityService.repository.PermissionRepository;
 
@@ -23,21 +30,37 @@ public class PermissionService {
 
     PermissionRepository permissionRepository;
     PermissionMapper permissionMapper;
+    InvalidationBus invalidationBus;
+    AuditTrail auditTrail;
 
+    @Transactional
     public PermissionResponse create(PermissionRequest request) {
+        // A new permission is persisted, not merged, so an existing name would only fail at flush
+        if (permissionRepository.existsById(request.getName())) {
+            throw new AppException(ErrorCode.PERMISSION_EXISTED);
+        }
+
         Permission permission = permissionMapper.toPermission(request);
         permission = permissionRepository.save(permission);
 
+        // Cached user responses embed permissions
+        invalidationBus.publish(InvalidationEvent.allUsers());
+        auditTrail.recordForCurrentUser(AuditEventType.PERMISSION_CREATED, permission.getName());
+
         return permissionMapper.toPermissionResponse(permission);
     }
 
+    @Transactional(readOnly = true)
     public List<PermissionResponse> getPermission() {
         return permissionRepository.findAll().stream()
                 .map(permissionMapper::toPermissionResponse)
                 .toList();
     }
 
+    @Transactional
     public void deletePermission(String permissionId) {
         permissionRepository.deleteById(permissionId);
+        invalidationBus.publish(InvalidationEvent.allUsers());
+        auditTrail.recordForCurrentUser(AuditEventType.PERMISSION_DELETED, permissionId);
     }
 }
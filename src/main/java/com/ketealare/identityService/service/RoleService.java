@@ -4,9 +4,17 @@ import java.util.HashSet;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.ketealare.identityService.audit.AuditEventType;
+import com.ketealare.identityService.audit.AuditTrail;
 import com.ketealare.identityService.dto.request.RoleRequest;
 import com.ketealare.identityService.dto.response.RoleResponse;
+import com.ketealare.identityService.exception.AppException;
+import com.ketealare.identityService.exception.ErrorCode;
+import com.ketealare.identityService.invalidation.InvalidationBus;
+import com.ketealare.identityService.invalidation.InvalidationEvent;
+import com.ketealare.identityService.mapper.ProjectionAssembler;
 import com.ketealare.identityService.mapper.RoleMapper;
 import com.ketealare.identityService.repository.PermissionRepository;
 import com.ketealare.identityService.repository.RoleRepository;
@@ -25,22 +33,40 @@ public class RoleService {
     RoleRepository roleRepository;
     RoleMapper roleMapper;
     PermissionRepository permissionRepository;
+    InvalidationBus invalidationBus;
+    AuditTrail auditTrail;
 
+    // Role row and role_permissions rows are flushed together, so they can share JDBC batches
+    @Transactional
     public RoleResponse create(RoleRequest request) {
+        // A new role is persisted, not merged, so an existing name would only fail at flush
+        if (roleRepository.existsById(request.getName())) {
+            throw new AppException(ErrorCode.ROLE_EXISTED);
+        }
+
         var role = roleMapper.toRole(request);
 
         var permissions = permissionRepository.findAllById(request.getPermissions());
         role.setPermissions(new HashSet<>(permissions));
 
         role = roleRepository.save(role);
+
+        // Cached user responses embed roles
+        invalidationBus.publish(InvalidationEvent.allUsers());
+        auditTrail.recordForCurrentUser(AuditEventType.ROLE_CREATED, role.getName());
         return roleMapper.toRoleResponse(role);
     }
 
+    @Transactional(readOnly = true)
     public List<RoleResponse> getRoles() {
-        return roleRepository.findAll().stream().map(roleMapper::toRoleResponse).toList();
+        return List.copyOf(ProjectionAssembler.roles(roleRepository.findRolePermissionRows())
+                .values());
     }
 
+    @Transactional
     public void deleteRole(String roleId) {
         roleRepository.deleteById(roleId);
+        invalidationBus.publish(InvalidationEvent.allUsers());
+        auditTrail.recordForCurrentUser(AuditEventType.ROLE_DELETED, roleId);
     }
 }
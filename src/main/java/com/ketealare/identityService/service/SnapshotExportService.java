@@ -0,0 +1,197 @@
+package com.ketealare.identityService.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ketealare.identityService.identifier.TimeOrderedIds;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SnapshotExportService {
+
+    public static final String FORMAT = "identity-snapshot";
+
+    // Bump when the record layout changes, importers must check it. 2: row versions on permission, role and user
+    public static final int FORMAT_VERSION = 2;
+
+    JdbcTemplate jdbcTemplate;
+    PlatformTransactionManager transactionManager;
+    ObjectMapper objectMapper;
+
+    @NonFinal
+    @Value("${snapshot-export.fetch-size:1000}")
+    int fetchSize;
+
+    /*
+     * Writes one JSON record per line, permission, role and user records carry their row version:
+     *   header, permission*, role*, role_permission*, user*, user_role*, end
+     * Every table is read with a forward-only cursor, so memory use does not depend on the table size.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportSnapshot(OutputStream target, boolean gzip) throws IOException {
+
+        OutputStream out = gzip ? new GZIPOutputStream(target, 64 * 1024) : target;
+
+        // One read-only REPEATABLE READ transaction gives a consistent snapshot across all tables
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        long start = System.nanoTime();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null); // lines are separated by writeLine
+
+            long records = transactionTemplate.execute(status -> writeRecords(generator));
+
+            if (out instanceof GZIPOutputStream gzipStream) gzipStream.finish();
+            out.flush();
+
+            log.info("Snapshot exported: {} records in {} ms", records, (System.nanoTime() - start) / 1_000_000);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long writeRecords(JsonGenerator generator) {
+        long records = 0;
+
+        writeLine(generator, () -> {
+            generator.writeStringField("format", FORMAT);
+            generator.writeNumberField("version", FORMAT_VERSION);
+            generator.writeStringField("exportedAt", Instant.now().toString());
+        });
+
+        records += stream(generator, "select name, description, version from permission order by name", rs -> {
+            generator.writeStringField("type", "permission");
+            generator.writeStringField("name", rs.getString("name"));
+            writeNullableString(generator, "description", rs.getString("description"));
+            generator.writeNumberField("version", rs.getLong("version"));
+        });
+
+        records += stream(generator, "select name, description, version from role order by name", rs -> {
+            generator.writeStringField("type", "role");
+            generator.writeStringField("name", rs.getString("name"));
+            writeNullableString(generator, "description", rs.getString("description"));
+            generator.writeNumberField("version", rs.getLong("version"));
+        });
+
+        records += stream(
+                generator,
+                "select role_name, permissions_name from role_permissions order by role_name, permissions_name",
+                rs -> {
+                    generator.writeStringField("type", "role_permission");
+                    generator.writeStringField("role", rs.getString("role_name"));
+                    generator.writeStringField("permission", rs.getString("permissions_name"));
+                });
+
+        records += stream(
+                generator,
+                "select id, username, password, first_name, last_name, dob, version from user order by id",
+                rs -> {
+                    LocalDate dob = rs.getObject("dob", LocalDate.class);
+
+                    generator.writeStringField("type", "user");
+                    generator.writeStringField("id", uuid(rs, "id"));
+                    generator.writeStringField("username", rs.getString("username"));
+                    writeNullableString(generator, "password", rs.getString("password"));
+                    writeNullableString(generator, "firstName", rs.getString("first_name"));
+                    writeNullableString(generator, "lastName", rs.getString("last_name"));
+                    writeNullableString(generator, "dob", Objects.nonNull(dob) ? dob.toString() : null);
+                    generator.writeNumberField("version", rs.getLong("version"));
+                });
+
+        records += stream(
+                generator, "select user_id, roles_name from user_roles order by user_id, roles_name", rs -> {
+                    generator.writeStringField("type", "user_role");
+                    generator.writeStringField("userId", uuid(rs, "user_id"));
+                    generator.writeStringField("role", rs.getString("roles_name"));
+                });
+
+        long total = records;
+        writeLine(generator, () -> {
+            generator.writeStringField("type", "end");
+            generator.writeNumberField("records", total);
+        });
+
+        return records;
+    }
+
+    private long stream(JsonGenerator generator, String sql, RecordWriter writer) {
+        long[] count = {0};
+
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+
+                    // With useCursorFetch=true MySQL fetches this many rows per round trip instead of all of them
+                    statement.setFetchSize(fetchSize);
+                    return statement;
+                },
+                rs -> {
+                    writeLine(generator, () -> writer.write(rs));
+                    count[0]++;
+                });
+
+        return count[0];
+    }
+
+    private void writeLine(JsonGenerator generator, FieldWriter fields) {
+        try {
+            generator.writeStartObject();
+            fields.write();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Ids are binary(16), exported in their textual form
+    private String uuid(ResultSet rs, String column) throws SQLException {
+        return TimeOrderedIds.fromBytes(rs.getBytes(column)).toString();
+    }
+
+    private void writeNullableString(JsonGenerator generator, String field, String value) throws IOException {
+        if (Objects.nonNull(value)) generator.writeStringField(field, value);
+    }
+
+    @FunctionalInterface
+    private interface FieldWriter {
+        void write() throws IOException, SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(ResultSet rs) throws IOException, SQLException;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ketealare.identityService.service;
+
+import java.util.Objects;
+
+import com.ketealare.identityService.exception.AppException;
+import com.ketealare.identityService.exception.ErrorCode;
+import com.nimbusds.jwt.SignedJWT;
+
+/*
+ * Result of AuthenticationService.verifyToken. A bad token is an expected outcome, a flood of them must not
+ * cost an exception each, so callers that only need a yes or no check valid() instead of catching.
+ */
+record TokenVerification(SignedJWT token, Failure failure) {
+
+    enum Failure {
+        MALFORMED,
+        BAD_SIGNATURE,
+        EXPIRED,
+        REVOKED
+    }
+
+    private static final TokenVerification[] FAILURES = new TokenVerification[Failure.values().length];
+
+    static {
+        for (Failure failure : Failure.values()) FAILURES[failure.ordinal()] = new TokenVerification(null, failure);
+    }
+
+    static TokenVerification verified(SignedJWT token) {
+        return new TokenVerification(token, null);
+    }
+
+    // Failures carry no token, one shared instance per reason
+    static TokenVerification failed(Failure failure) {
+        return FAILURES[failure.ordinal()];
+    }
+
+    boolean valid() {
+        return Objects.isNull(failure);
+    }
+
+    // For callers where a bad token ends the request, the handler only needs the error code
+    SignedJWT orThrow() {
+        if (!valid()) throw new AppException(ErrorCode.UNAUTHENTICATED, false);
+        return token;
+    }
+}
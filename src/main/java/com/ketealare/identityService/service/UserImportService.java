@@ -0,0 +1,442 @@
+package com.ketealare.identityService.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ketealare.identityService.constant.PredefinedRole;
+import com.ketealare.identityService.dto.request.UserCreationRequest;
+import com.ketealare.identityService.dto.request.UserImportRow;
+import com.ketealare.identityService.dto.response.UserImportError;
+import com.ketealare.identityService.dto.response.UserImportResponse;
+import com.ketealare.identityService.exception.ErrorCode;
+import com.ketealare.identityService.identifier.TimeOrderedIds;
+import com.ketealare.identityService.repository.RoleRepository;
+import com.ketealare.identityService.repository.UserRepository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UserImportService {
+
+    public static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    static final String INSERT_USER =
+            "insert into user (id, username, password, first_name, last_name, dob) values (?, ?, ?, ?, ?, ?)";
+    static final String INSERT_USER_ROLE = "insert into user_roles (user_id, roles_name) values (?, ?)";
+
+    // $2a$, $2b$ or $2y$ followed by a two digit cost and 53 characters of salt and hash
+    static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./0-9A-Za-z]{53}$");
+
+    UserRepository userRepository;
+    RoleRepository roleRepository;
+    PasswordEncoder passwordEncoder;
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate transactionTemplate;
+    ObjectMapper objectMapper;
+    Validator validator;
+
+    @NonFinal
+    @Value("${user-import.batch-size:1000}")
+    int batchSize;
+
+    @NonFinal
+    @Value("${user-import.hash-threads:0}")
+    int hashThreads;
+
+    @NonFinal
+    @Value("${user-import.max-reported-errors:1000}")
+    int maxReportedErrors;
+
+    @NonFinal
+    ExecutorService hashExecutor;
+
+    @PostConstruct
+    void startHashExecutor() {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+
+        // BCrypt is CPU bound, so the pool is sized to the cores rather than to the request load
+        hashExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopHashExecutor() {
+        hashExecutor.shutdownNow();
+    }
+
+    // Stream a CSV (with header line) or NDJSON body into the user table, batch by batch
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserImportResponse importUsers(InputStream body, MediaType contentType) throws IOException {
+
+        boolean csv = TEXT_CSV.isCompatibleWith(contentType);
+        boolean assignUserRole = roleRepository.existsById(PredefinedRole.USER_ROLE);
+
+        ImportProgress progress = new ImportProgress(System.nanoTime());
+        List<ImportLine> chunk = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            Map<String, Integer> csvHeader = csv ? readCsvHeader(reader) : Map.of();
+
+            String line;
+            long lineNumber = csv ? 1 : 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!StringUtils.hasText(line)) continue;
+
+                progress.total++;
+                long recordLine = lineNumber;
+
+                // The file is read line by line, a quoted field spanning lines is skipped and reported once
+                if (csv && hasOpenQuote(line)) {
+                    lineNumber += skipQuotedContinuation(reader);
+                    progress.fail(
+                            recordLine,
+                            null,
+                            ErrorCode.INVALID_IMPORT_ROW,
+                            "Line breaks inside quoted fields are not supported");
+                    continue;
+                }
+
+                try {
+                    UserImportRow row = csv ? parseCsvRow(line, csvHeader) : parseJsonRow(line);
+                    chunk.add(new ImportLine(recordLine, row));
+                } catch (IllegalArgumentException e) {
+                    progress.fail(recordLine, null, ErrorCode.INVALID_IMPORT_ROW, e.getMessage());
+                }
+
+                if (chunk.size() >= batchSize) {
+                    importChunk(chunk, assignUserRole, progress);
+                    chunk.clear();
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) importChunk(chunk, assignUserRole, progress);
+
+        UserImportResponse response = progress.toResponse();
+        log.info(
+                "User import finished: {} rows, {} imported, {} failed, {} imported rows/s",
+                response.getTotal(),
+                response.getImported(),
+                response.getFailed(),
+                Math.round(response.getRowsPerSecond()));
+
+        return response;
+    }
+
+    private void importChunk(List<ImportLine> chunk, boolean assignUserRole, ImportProgress progress) {
+
+        // Validate rows and drop duplicates inside the chunk, earlier chunks are already committed.
+        // Keyed case-insensitively like the DB check below and the MySQL unique index.
+        Map<String, ImportLine> accepted = new LinkedHashMap<>();
+        for (ImportLine line : chunk) {
+            if (!isValid(line, progress)) continue;
+
+            if (accepted.putIfAbsent(line.row().getUsername().toLowerCase(Locale.ROOT), line) != null) {
+                progress.fail(line, ErrorCode.USER_EXISTED, "Duplicate username in import");
+            }
+        }
+
+        // One query per chunk instead of one existsByUsername per row
+        if (!accepted.isEmpty()) {
+            // Compare case-insensitively, the MySQL collation does
+            Set<String> existing = new HashSet<>();
+            userRepository
+                    .findExistingUsernames(accepted.values().stream()
+                            .map(line -> line.row().getUsername())
+                            .toList())
+                    .forEach(username -> existing.add(username.toLowerCase(Locale.ROOT)));
+
+            accepted.values().removeIf(line -> {
+                if (!existing.contains(line.row().getUsername().toLowerCase(Locale.ROOT))) return false;
+
+                progress.fail(line, ErrorCode.USER_EXISTED, ErrorCode.USER_EXISTED.getMessage());
+                return true;
+            });
+        }
+
+        if (accepted.isEmpty()) return;
+
+        List<ImportLine> candidates = new ArrayList<>(accepted.values());
+        List<CompletableFuture<String>> hashes = candidates.stream()
+                .map(line -> StringUtils.hasText(line.row().getPasswordHash())
+                        ? CompletableFuture.completedFuture(line.row().getPasswordHash())
+                        : CompletableFuture.supplyAsync(
+                                () -> passwordEncoder.encode(line.row().getPassword()), hashExecutor))
+                .toList();
+
+        List<ImportLine> lines = new ArrayList<>(candidates.size());
+        List<Object[]> users = new ArrayList<>(candidates.size());
+        List<Object[]> userRoles = new ArrayList<>(assignUserRole ? candidates.size() : 0);
+
+        for (int i = 0; i < candidates.size(); i++) {
+            ImportLine line = candidates.get(i);
+            String hash;
+            try {
+                hash = hashes.get(i).join();
+            } catch (CompletionException e) {
+                progress.fail(line, ErrorCode.PASSWORD_INVALID, "Password cannot be hashed");
+                continue;
+            }
+
+            UserImportRow row = line.row();
+            byte[] id = TimeOrderedIds.toBytes(TimeOrderedIds.next());
+            LocalDate dob = row.getDob();
+
+            lines.add(line);
+            users.add(new Object[] {
+                id,
+                row.getUsername(),
+                hash,
+                row.getFirstName(),
+                row.getLastName(),
+                Objects.nonNull(dob) ? Date.valueOf(dob) : null
+            });
+
+            if (assignUserRole) userRoles.add(new Object[] {id, PredefinedRole.USER_ROLE});
+        }
+
+        if (lines.isEmpty()) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_USER, users);
+                if (!userRoles.isEmpty()) jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userRoles);
+            });
+            progress.imported += lines.size();
+        } catch (DataAccessException e) {
+            // A concurrent insert of the same username fails the whole chunk, report every row of it
+            log.warn("User import chunk rejected by the database: {}", e.getMostSpecificCause().getMessage());
+            lines.forEach(line -> progress.fail(line, ErrorCode.INVALID_IMPORT_ROW, "Rejected by the database"));
+        }
+
+        log.info(
+                "User import progress: {} rows read, {} imported, {} failed",
+                progress.total,
+                progress.imported,
+                progress.failed);
+    }
+
+    private boolean isValid(ImportLine line, ImportProgress progress) {
+        UserImportRow row = line.row();
+
+        if (!StringUtils.hasText(row.getUsername())) {
+            progress.fail(line, ErrorCode.INVALID_IMPORT_ROW, "Username is required");
+            return false;
+        }
+
+        if (StringUtils.hasText(row.getPasswordHash())) {
+            if (!BCRYPT_HASH.matcher(row.getPasswordHash()).matches()) {
+                progress.fail(line, ErrorCode.INVALID_IMPORT_ROW, "Password hash is not a BCrypt hash");
+                return false;
+            }
+        } else if (!StringUtils.hasText(row.getPassword())) {
+            progress.fail(line, ErrorCode.INVALID_IMPORT_ROW, "Password or password hash is required");
+            return false;
+        }
+
+        // Same constraints as POST /users
+        Set<ConstraintViolation<UserCreationRequest>> violations = validator.validate(UserCreationRequest.builder()
+                .username(row.getUsername())
+                .password(row.getPassword())
+                .firstName(row.getFirstName())
+                .lastName(row.getLastName())
+                .dob(row.getDob())
+                .build());
+
+        if (violations.isEmpty()) return true;
+
+        ConstraintViolation<UserCreationRequest> violation = violations.iterator().next();
+        ErrorCode errorCode;
+        try {
+            errorCode = ErrorCode.valueOf(violation.getMessage());
+        } catch (IllegalArgumentException e) {
+            errorCode = ErrorCode.INVALID_KEY;
+        }
+
+        Object min = violation.getConstraintDescriptor().getAttributes().get("min");
+        progress.fail(line, errorCode, errorCode.getMessage().replace("{min}", String.valueOf(min)));
+        return false;
+    }
+
+    private UserImportRow parseJsonRow(String line) {
+        try {
+            return objectMapper.readValue(line, UserImportRow.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed JSON line");
+        }
+    }
+
+    private Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (Objects.isNull(header)) return Map.of();
+
+        List<String> columns = splitCsvLine(header);
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) indexes.put(columns.get(i).trim(), i);
+
+        return indexes;
+    }
+
+    private UserImportRow parseCsvRow(String line, Map<String, Integer> header) {
+        List<String> values = splitCsvLine(line);
+
+        String dob = csvValue(values, header, "dob");
+        try {
+            return UserImportRow.builder()
+                    .username(csvValue(values, header, "username"))
+                    .password(csvValue(values, header, "password"))
+                    .passwordHash(csvValue(values, header, "passwordHash"))
+                    .firstName(csvValue(values, header, "firstName"))
+                    .lastName(csvValue(values, header, "lastName"))
+                    .dob(StringUtils.hasText(dob) ? LocalDate.parse(dob) : null)
+                    .build();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed CSV line");
+        }
+    }
+
+    private String csvValue(List<String> values, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (Objects.isNull(index) || index >= values.size()) return null;
+
+        String value = values.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    // An odd number of quote characters leaves a quoted field open at the end of the line
+    static boolean hasOpenQuote(String line) {
+        return line.chars().filter(c -> c == '"').count() % 2 == 1;
+    }
+
+    // Reads until the quotes balance again, returns the number of lines consumed
+    private static long skipQuotedContinuation(BufferedReader reader) throws IOException {
+        long consumed = 0;
+        boolean open = true;
+
+        String line;
+        while (open && (line = reader.readLine()) != null) {
+            consumed++;
+            if (hasOpenQuote(line)) open = false;
+        }
+
+        return consumed;
+    }
+
+    // RFC 4180 fields: comma separated, optionally quoted, "" inside quotes is an escaped quote
+    static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        if (quoted) throw new IllegalArgumentException("Unterminated quoted field");
+
+        values.add(current.toString());
+        return values;
+    }
+
+    private record ImportLine(long number, UserImportRow row) {}
+
+    private final class ImportProgress {
+        final long startNanos;
+        final List<UserImportError> errors = new ArrayList<>();
+        long total;
+        long imported;
+        long failed;
+
+        ImportProgress(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        void fail(ImportLine line, ErrorCode errorCode, String message) {
+            fail(line.number(), line.row().getUsername(), errorCode, message);
+        }
+
+        void fail(long lineNumber, String username, ErrorCode errorCode, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(UserImportError.builder()
+                        .line(lineNumber)
+                        .username(username)
+                        .code(errorCode.getCode())
+                        .message(message)
+                        .build());
+            }
+        }
+
+        UserImportResponse toResponse() {
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+            return UserImportResponse.builder()
+                    .total(total)
+                    .imported(imported)
+                    .failed(failed)
+                    .elapsedMillis(elapsedMillis)
+                    .rowsPerSecond(elapsedMillis > 0 ? imported * 1000.0 / elapsedMillis : imported)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
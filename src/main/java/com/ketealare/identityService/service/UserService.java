@@ -1,45 +1,80 @@
 package com.ketealare.identityService.service;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
 
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.ketealare.identityService.audit.AuditEventType;
+import com.ketealare.identityService.audit.AuditTrail;
+import com.ketealare.identityService.cache.UserResponseCache;
+import com.ketealare.identityService.cache.VersionedResponse;
 import com.ketealare.identityService.constant.PredefinedRole;
 import com.ketealare.identityService.dto.request.UserCreationRequest;
+import com.ketealare.identityService.dto.request.UserPatchRequest;
+import com.ketealare.identityService.dto.request.UserSearchRequest;
 import com.ketealare.identityService.dto.request.UserUpdateRequest;
+import com.ketealare.identityService.dto.response.CompactUserListResponse;
+import com.ketealare.identityService.dto.response.CompactUserResponse;
+import com.ketealare.identityService.dto.response.RoleResponse;
 import com.ketealare.identityService.dto.response.UserResponse;
+import com.ketealare.identityService.dto.response.UserSearchResponse;
 import com.ketealare.identityService.entity.Role;
 import com.ketealare.identityService.entity.User;
 import com.ketealare.identityService.exception.AppException;
 import com.ketealare.identityService.exception.ErrorCode;
+import com.ketealare.identityService.invalidation.InvalidationBus;
+import com.ketealare.identityService.invalidation.InvalidationEvent;
+import com.ketealare.identityService.mapper.ProjectionAssembler;
 import com.ketealare.identityService.mapper.UserMapper;
 import com.ketealare.identityService.repository.RoleRepository;
 import com.ketealare.identityService.repository.UserRepository;
+import com.ketealare.identityService.repository.UserSpecifications;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class UserService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String ADMIN_AUTHORITY = "ROLE_" + PredefinedRole.ADMIN_ROLE;
+
+    // Counting stops here, beyond it clients get countCapped instead of an exact number
+    private static final int COUNT_CAP = 10_000;
+
     UserRepository userRepository;
     RoleRepository roleRepository;
     UserMapper userMapper;
+    UserResponseCache userResponseCache;
+    AuditTrail auditTrail;
+    InvalidationBus invalidationBus;
     private final PasswordEncoder passwordEncoder;
 
+    // The default role's permissions are loaded lazily by the mapper, so mapping stays inside the transaction
+    @Transactional
     public UserResponse createUser(UserCreationRequest request) {
-
-        log.info("Service: Create user");
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new AppException(ErrorCode.USER_EXISTED);
         }
@@ -51,42 +86,215 @@ public class UserService {
         roleRepository.findById(PredefinedRole.USER_ROLE).ifPresent(roles::add);
         user.setRoles(roles);
 
-        return userMapper.toUserResponse(userRepository.save(user));
+        user = userRepository.save(user);
+        auditTrail.record(AuditEventType.USER_CREATED, user.getUsername(), null);
+
+        return userMapper.toUserResponse(user);
     }
 
+    @Transactional(readOnly = true)
     public UserResponse getMyInfo() {
+        return getVersionedMyInfo().response();
+    }
+
+    // Served from the cache while the user row version is unchanged, one indexed single column query per hit
+    @Transactional(readOnly = true)
+    public VersionedResponse<UserResponse> getVersionedMyInfo() {
         var context = SecurityContextHolder.getContext();
         String name = context.getAuthentication().getName();
 
+        long generation = userResponseCache.generation();
+        Optional<Long> version = userRepository.findVersionByUsername(name);
+
+        if (version.isPresent()) {
+            VersionedResponse<UserResponse> cached = userResponseCache.get(name, version.get());
+            if (Objects.nonNull(cached)) return cached;
+        }
+
         User user = userRepository.findByUsername(name).orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
+        UserResponse response = userMapper.toUserResponse(user);
 
-        return userMapper.toUserResponse(user);
+        if (Objects.isNull(user.getVersion())) return new VersionedResponse<>(response, null);
+
+        return userResponseCache.put(name, user.getVersion(), generation, response);
     }
 
+    @Transactional
     public UserResponse updateUser(String userId, UserUpdateRequest request) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found!"));
+        User user =
+                userRepository.findById(toUserId(userId)).orElseThrow(() -> new RuntimeException("User not found!"));
         userMapper.updateUser(user, request);
 
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        // BCrypt is the expensive part of an update, only pay it for a new password
+        if (Objects.nonNull(request.getPassword())) {
+            user.setPassword(passwordEncoder.encode(request.getPassword()));
+        }
+
+        if (Objects.nonNull(request.getRoles())) syncRoles(user, request.getRoles());
 
-        var roles = roleRepository.findAllById(request.getRoles());
-        user.setRoles(new HashSet<>(roles));
+        user = userRepository.save(user);
+        invalidationBus.publish(InvalidationEvent.user(user.getUsername()));
+        auditTrail.recordForCurrentUser(AuditEventType.USER_UPDATED, user.getUsername());
 
-        return userMapper.toUserResponse(userRepository.save(user));
+        return userMapper.toUserResponse(user);
+    }
+
+    // Admins patch anyone, including roles; other users only their own profile, without roles
+    @PreAuthorize("hasRole('ADMIN') || #request.roles == null")
+    @Transactional
+    public UserResponse patchUser(String userId, UserPatchRequest request) {
+        User user = userRepository
+                .findById(toUserId(userId))
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
+
+        if (!isAdminOrSelf(user.getUsername())) throw new AppException(ErrorCode.UNAUTHORIZED);
+
+        // The client edited an older state, applying the patch would overwrite somebody else's change
+        if (Objects.nonNull(request.getVersion()) && !request.getVersion().equals(user.getVersion())) {
+            throw new AppException(ErrorCode.UPDATE_CONFLICT);
+        }
+
+        boolean changed = applyIfChanged(request.getFirstName(), user.getFirstName(), user::setFirstName);
+        changed |= applyIfChanged(request.getLastName(), user.getLastName(), user::setLastName);
+        changed |= applyIfChanged(request.getDob(), user.getDob(), user::setDob);
+
+        if (Objects.nonNull(request.getPassword())) {
+            user.setPassword(passwordEncoder.encode(request.getPassword()));
+            changed = true;
+        }
+
+        if (Objects.nonNull(request.getRoles())) changed |= syncRoles(user, request.getRoles());
+
+        // Nothing to write, the version stays and cached responses remain valid
+        if (!changed) return userMapper.toUserResponse(user);
+
+        // Flushed here so a concurrent update fails this call and the response carries the new version
+        user = userRepository.saveAndFlush(user);
+        invalidationBus.publish(InvalidationEvent.user(user.getUsername()));
+        auditTrail.recordForCurrentUser(AuditEventType.USER_UPDATED, user.getUsername());
+
+        return userMapper.toUserResponse(user);
+    }
+
+    private static boolean isAdminOrSelf(String username) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        return username.equals(authentication.getName())
+                || authentication.getAuthorities().stream()
+                        .anyMatch(authority -> ADMIN_AUTHORITY.equals(authority.getAuthority()));
     }
 
     @PreAuthorize("hasAuthority('UPDATE_DATA')")
+    @Transactional(readOnly = true)
     public List<UserResponse> getUsers() {
-        return userRepository.findAll().stream().map(userMapper::toUserResponse).toList();
+        // Two projection queries, users with role names and the role dictionary, instead of entities and lazy loads
+        Map<String, RoleResponse> roles = ProjectionAssembler.roles(roleRepository.findRolePermissionRows());
+
+        return ProjectionAssembler.users(userRepository.findUserRoleRows(), roles);
+    }
+
+    // Same users and the same two projection queries, each role with its permissions is serialized once
+    @PreAuthorize("hasAuthority('UPDATE_DATA')")
+    @Transactional(readOnly = true)
+    public CompactUserListResponse getCompactUsers() {
+        Map<String, RoleResponse> allRoles = ProjectionAssembler.roles(roleRepository.findRolePermissionRows());
+        List<CompactUserResponse> users = ProjectionAssembler.compactUsers(userRepository.findUserRoleRows());
+
+        // Only the roles some user has
+        Map<String, RoleResponse> roles = new TreeMap<>();
+        users.forEach(user -> user.getRoles().forEach(name -> {
+            RoleResponse role = allRoles.get(name);
+            if (Objects.nonNull(role)) roles.put(name, role);
+        }));
+
+        return CompactUserListResponse.builder().users(users).roles(roles).build();
+    }
+
+    /*
+     * One page ordered by username: the ids of size + 1 matches, the extra one only tells whether there is a
+     * next page, then the projection rows of the page. No offset, a page costs the same wherever it starts.
+     */
+    @PreAuthorize("hasAuthority('UPDATE_DATA')")
+    @Transactional(readOnly = true)
+    public UserSearchResponse searchUsers(UserSearchRequest request) {
+        int size = Math.clamp(Objects.requireNonNullElse(request.getSize(), DEFAULT_PAGE_SIZE), 1, MAX_PAGE_SIZE);
+
+        Specification<User> filters = Specification.where(UserSpecifications.usernameStartsWith(request.getUsername()))
+                .and(UserSpecifications.nameStartsWith(request.getName()))
+                .and(UserSpecifications.hasRole(request.getRole()))
+                .and(UserSpecifications.bornFrom(request.getDobFrom()))
+                .and(UserSpecifications.bornTo(request.getDobTo()));
+
+        List<UUID> ids = userRepository.findIds(
+                filters.and(UserSpecifications.usernameAfter(request.getAfter())), Sort.by("username"), size + 1);
+        boolean hasNext = ids.size() > size;
+        if (hasNext) ids = ids.subList(0, size);
+
+        List<UserResponse> users = ids.isEmpty()
+                ? List.of()
+                : ProjectionAssembler.users(
+                        userRepository.findUserRoleRowsByIds(ids),
+                        ProjectionAssembler.roles(roleRepository.findRolePermissionRows()));
+
+        UserSearchResponse.UserSearchResponseBuilder response = UserSearchResponse.builder()
+                .users(users)
+                .next(hasNext ? users.getLast().getUsername() : null);
+
+        if (request.isCount()) {
+            long count = userRepository.countUpTo(filters, COUNT_CAP);
+            response.count(Math.min(count, COUNT_CAP)).countCapped(count > COUNT_CAP);
+        }
+
+        return response.build();
     }
 
     @PostAuthorize("returnObject.username == authentication.name || hasRole('ADMIN')")
+    @Transactional(readOnly = true)
     public UserResponse getUser(String id) {
         return userMapper.toUserResponse(
-                userRepository.findById(id).orElseThrow(() -> new RuntimeException("User not found!")));
+                userRepository.findById(toUserId(id)).orElseThrow(() -> new RuntimeException("User not found!")));
     }
 
+    @Transactional
     public void deleteUser(String id) {
-        userRepository.deleteById(id);
+        userRepository.findById(toUserId(id)).ifPresent(user -> {
+            userRepository.delete(user);
+            invalidationBus.publish(InvalidationEvent.user(user.getUsername()));
+            auditTrail.recordForCurrentUser(AuditEventType.USER_DELETED, user.getUsername());
+        });
+    }
+
+    private static <T> boolean applyIfChanged(T value, T current, Consumer<T> setter) {
+        if (Objects.isNull(value) || value.equals(current)) return false;
+
+        setter.accept(value);
+        return true;
+    }
+
+    /*
+     * Changes the loaded role set in place instead of replacing it, so Hibernate deletes and inserts only the
+     * user_roles rows that differ. A replaced collection is rewritten completely. Only missing roles are loaded.
+     */
+    private boolean syncRoles(User user, Collection<String> roleNames) {
+        Set<String> wanted = new HashSet<>(roleNames);
+
+        if (Objects.isNull(user.getRoles())) user.setRoles(new HashSet<>());
+        Set<Role> roles = user.getRoles();
+
+        boolean changed = roles.removeIf(role -> !wanted.contains(role.getName()));
+        roles.forEach(role -> wanted.remove(role.getName()));
+
+        if (!wanted.isEmpty()) changed |= roles.addAll(roleRepository.findAllById(wanted));
+
+        return changed;
+    }
+
+    // Ids are UUIDs, anything else cannot match a user
+    private UUID toUserId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new AppException(ErrorCode.USER_NOT_EXISTED);
+        }
     }
 }
@@ -0,0 +1,160 @@
+package com.ketealare.identityService.warmup;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ketealare.identityService.dto.request.IntrospectRequest;
+import com.ketealare.identityService.dto.response.ApiResponse;
+import com.ketealare.identityService.dto.response.UserResponse;
+import com.ketealare.identityService.entity.Permission;
+import com.ketealare.identityService.entity.Role;
+import com.ketealare.identityService.entity.User;
+import com.ketealare.identityService.mapper.UserMapper;
+import com.ketealare.identityService.service.AuthenticationService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Runs the hot request paths on synthetic data until the JIT has compiled them. Application runners finish
+ * before Spring Boot publishes ReadinessState.ACCEPTING_TRAFFIC, so /actuator/health/readiness stays down
+ * until the warm-up is over and the first real requests do not run interpreted.
+ *
+ * Work is done in rounds; it stops when round-tolerance separates three consecutive round times, or when
+ * max-iterations or time-budget is reached. BCrypt is too slow to loop, it runs bcrypt-iterations times.
+ *
+ * Tokens go through an isolated copy of AuthenticationService: no revocation queries hit the database (or the
+ * replica), and the synthetic samples stay out of the identity.auth.* meters.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class JitWarmup implements ApplicationRunner {
+
+    private static final int SETTLED_ROUNDS = 3;
+
+    AuthenticationService authenticationService;
+    UserMapper userMapper;
+    PasswordEncoder passwordEncoder;
+    ObjectMapper objectMapper;
+    MeterRegistry meterRegistry;
+
+    @NonFinal
+    @Value("${warmup.max-iterations:20000}")
+    int maxIterations;
+
+    @NonFinal
+    @Value("${warmup.time-budget:15s}")
+    Duration timeBudget;
+
+    @NonFinal
+    @Value("${warmup.round-size:250}")
+    int roundSize;
+
+    @NonFinal
+    @Value("${warmup.round-tolerance:0.1}")
+    double roundTolerance;
+
+    @NonFinal
+    @Value("${warmup.bcrypt-iterations:10}")
+    int bcryptIterations;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + timeBudget.toNanos();
+
+        AuthenticationService authentication = authenticationService.isolatedCopy();
+        User user = syntheticUser();
+        String hash = passwordEncoder.encode("warm-up-password");
+        for (int i = 0; i < bcryptIterations; i++) passwordEncoder.matches("warm-up-password", hash);
+
+        int iterations = 0;
+        int settledRounds = 0;
+        long previousRound = Long.MAX_VALUE;
+        String outcome = "iterations";
+
+        while (iterations < maxIterations) {
+            if (System.nanoTime() >= deadline) {
+                outcome = "time-budget";
+                break;
+            }
+
+            long roundStart = System.nanoTime();
+            for (int i = 0; i < roundSize; i++) iteration(authentication, user);
+            long round = System.nanoTime() - roundStart;
+            iterations += roundSize;
+
+            settledRounds = Math.abs(round - previousRound) <= previousRound * roundTolerance ? settledRounds + 1 : 0;
+            previousRound = round;
+
+            if (settledRounds >= SETTLED_ROUNDS) {
+                outcome = "settled";
+                break;
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+
+        Timer.builder("identity.warmup")
+                .description("Startup JIT warm-up, outcome says why it stopped")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(elapsed));
+        DistributionSummary.builder("identity.warmup.iterations")
+                .register(meterRegistry)
+                .record(iterations);
+
+        log.info(
+                "JIT warm-up {} after {} iterations in {} ms, last round {} us per iteration",
+                outcome,
+                iterations,
+                elapsed / 1_000_000,
+                previousRound == Long.MAX_VALUE ? 0 : previousRound / roundSize / 1_000);
+    }
+
+    // Token issue and verification (MAC, parsing, revocation lookup), mapping and response serialization
+    private void iteration(AuthenticationService authentication, User user) throws Exception {
+        String token = authentication.generateToken(user);
+        authentication.introspect(IntrospectRequest.builder().token(token).build());
+
+        UserResponse response = userMapper.toUserResponse(user);
+        objectMapper.writeValueAsBytes(
+                ApiResponse.<UserResponse>builder().result(response).build());
+    }
+
+    private User syntheticUser() {
+        Role role = Role.builder()
+                .name("WARMUP")
+                .permissions(Set.of(
+                        Permission.builder().name("WARMUP_READ").build(),
+                        Permission.builder().name("WARMUP_WRITE").build()))
+                .build();
+
+        return User.builder()
+                .username("warmup")
+                .firstName("Warm")
+                .lastName("Up")
+                .roles(Set.of(role))
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+-- Embedded H2 schema (tests and local runs). It has no legacy data, so it starts directly with
+-- the binary(16) ids that MySQL reaches in V2; versions are kept aligned with db/migration/mysql.
+-- The H2 URL needs NON_KEYWORDS=USER for the user table.
+
+CREATE TABLE permission (
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    PRIMARY KEY (name)
+);
+
+CREATE TABLE role (
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    PRIMARY KEY (name)
+);
+
+CREATE TABLE role_permissions (
+    role_name        VARCHAR(255) NOT NULL,
+    permissions_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (role_name, permissions_name),
+    CONSTRAINT fk_role_permissions_role FOREIGN KEY (role_name) REFERENCES role (name),
+    CONSTRAINT fk_role_permissions_permission FOREIGN KEY (permissions_name) REFERENCES permission (name)
+);
+
+CREATE TABLE user (
+    id         BINARY(16)   NOT NULL,
+    username   VARCHAR(255),
+    password   VARCHAR(255),
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    dob        DATE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE user_roles (
+    user_id    BINARY(16)   NOT NULL,
+    roles_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (user_id, roles_name),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (roles_name) REFERENCES role (name)
+);
+
+CREATE TABLE invalidated_token (
+    id          BINARY(16) NOT NULL,
+    expiry_time TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
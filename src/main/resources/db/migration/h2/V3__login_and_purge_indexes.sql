@@ -0,0 +1,3 @@
+ALTER TABLE user ADD CONSTRAINT uk_user_username UNIQUE (username);
+
+CREATE INDEX idx_invalidated_token_expiry_time ON invalidated_token (expiry_time);
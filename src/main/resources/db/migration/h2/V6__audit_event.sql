@@ -0,0 +1,9 @@
+-- Append-only security audit trail, written in batches by AuditTrail
+CREATE TABLE audit_event (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    occurred_at TIMESTAMP(6) NOT NULL,
+    event_type  VARCHAR(32)  NOT NULL,
+    principal   VARCHAR(255),
+    detail      VARCHAR(255),
+    PRIMARY KEY (id)
+);
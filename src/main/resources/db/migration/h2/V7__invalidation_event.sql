@@ -0,0 +1,12 @@
+-- Change feed for JdbcInvalidationBus, every node polls rows above the last sequence it has applied
+CREATE TABLE invalidation_event (
+    seq        BIGINT       NOT NULL AUTO_INCREMENT,
+    kind       VARCHAR(16)  NOT NULL,
+    entity_key VARCHAR(255),
+    expires_at TIMESTAMP(6),
+    origin     VARCHAR(36)  NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (seq)
+);
+
+CREATE INDEX idx_invalidation_event_created_at ON invalidation_event (created_at);
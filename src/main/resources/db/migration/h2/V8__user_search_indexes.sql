@@ -0,0 +1,8 @@
+-- GET /users/search: username prefix and keyset pages use uk_user_username, the other filters get their own index.
+-- name matches a first or last name prefix, MySQL combines the two indexes with an index merge.
+CREATE INDEX idx_user_first_name ON user (first_name);
+CREATE INDEX idx_user_last_name ON user (last_name);
+CREATE INDEX idx_user_dob ON user (dob);
+
+-- The primary key starts with user_id, the role filter looks up users by role
+CREATE INDEX idx_user_roles_role ON user_roles (roles_name, user_id);
@@ -0,0 +1,2 @@
+-- Starting nodes replay the revocations still in force, and the purge keeps TOKEN rows until they expire
+CREATE INDEX idx_invalidation_event_kind_expires_at ON invalidation_event (kind, expires_at);
@@ -0,0 +1,46 @@
+-- Schema as previously generated by ddl-auto: update.
+-- Existing databases are baselined at this version and continue with V2.
+
+CREATE TABLE permission (
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE role (
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE role_permissions (
+    role_name        VARCHAR(255) NOT NULL,
+    permissions_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (role_name, permissions_name),
+    CONSTRAINT fk_role_permissions_role FOREIGN KEY (role_name) REFERENCES role (name),
+    CONSTRAINT fk_role_permissions_permission FOREIGN KEY (permissions_name) REFERENCES permission (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE user (
+    id         VARCHAR(255) NOT NULL,
+    username   VARCHAR(255),
+    password   VARCHAR(255),
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    dob        DATE,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_roles (
+    user_id    VARCHAR(255) NOT NULL,
+    roles_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (user_id, roles_name),
+    CONSTRAINT fk_legacy_user_roles_user FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT fk_legacy_user_roles_role FOREIGN KEY (roles_name) REFERENCES role (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE invalidated_token (
+    id          VARCHAR(255) NOT NULL,
+    expiry_time DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
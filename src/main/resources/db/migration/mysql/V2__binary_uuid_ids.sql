@@ -0,0 +1,58 @@
+-- Converts user and invalidated token ids from varchar UUID strings to binary(16).
+-- UUID_TO_BIN is used without the swap flag, so BIN_TO_UUID(id) gives back exactly the old id strings.
+-- Databases converted by hand before migrations existed must be baselined at version 2 instead.
+
+CREATE TABLE user_new (
+    id         BINARY(16)   NOT NULL,
+    username   VARCHAR(255),
+    password   VARCHAR(255),
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    dob        DATE,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Insert in id order of the new key to build the clustered index sequentially
+INSERT INTO user_new (id, username, password, first_name, last_name, dob)
+SELECT UUID_TO_BIN(id), username, password, first_name, last_name, dob
+FROM user
+ORDER BY UUID_TO_BIN(id);
+
+CREATE TABLE user_roles_new (
+    user_id    BINARY(16)   NOT NULL,
+    roles_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (user_id, roles_name)
+) ENGINE = InnoDB;
+
+INSERT INTO user_roles_new (user_id, roles_name)
+SELECT UUID_TO_BIN(user_id), roles_name
+FROM user_roles
+ORDER BY UUID_TO_BIN(user_id), roles_name;
+
+-- Revoked tokens past their expiry carry no information, drop them instead of converting them
+CREATE TABLE invalidated_token_new (
+    id          BINARY(16) NOT NULL,
+    expiry_time DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO invalidated_token_new (id, expiry_time)
+SELECT UUID_TO_BIN(id), expiry_time
+FROM invalidated_token
+WHERE expiry_time > NOW(6) AND IS_UUID(id);
+
+RENAME TABLE
+    user_roles TO user_roles_legacy,
+    user TO user_legacy,
+    invalidated_token TO invalidated_token_legacy,
+    user_roles_new TO user_roles,
+    user_new TO user,
+    invalidated_token_new TO invalidated_token;
+
+DROP TABLE user_roles_legacy;
+DROP TABLE user_legacy;
+DROP TABLE invalidated_token_legacy;
+
+ALTER TABLE user_roles
+    ADD CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES user (id),
+    ADD CONSTRAINT fk_user_roles_role FOREIGN KEY (roles_name) REFERENCES role (name);
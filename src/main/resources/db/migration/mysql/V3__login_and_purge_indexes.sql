@@ -0,0 +1,6 @@
+-- findByUsername / existsByUsername run on every login, and usernames must be unique anyway.
+-- Fails if duplicate usernames exist, resolve them before upgrading.
+ALTER TABLE user ADD CONSTRAINT uk_user_username UNIQUE (username);
+
+-- Purging expired revocations scans by expiry time
+CREATE INDEX idx_invalidated_token_expiry_time ON invalidated_token (expiry_time);
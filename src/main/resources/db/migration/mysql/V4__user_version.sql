@@ -0,0 +1,2 @@
+-- Row version for optimistic locking and response caching, Hibernate increments it on every update
+ALTER TABLE user ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Row versions for optimistic locking of roles and permissions
+ALTER TABLE role ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE permission ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
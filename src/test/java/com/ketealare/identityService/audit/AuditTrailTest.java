@@ -0,0 +1,93 @@
+package com.ketealare.identityService.audit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class AuditTrailTest {
+
+    private final List<AuditEvent> written = new CopyOnWriteArrayList<>();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void stop_bufferedEvents_written() {
+        AuditTrail trail = trail(OverflowPolicy.WAIT, 1024, Duration.ofHours(1));
+        trail.start();
+
+        for (int i = 0; i < 100; i++) trail.record(AuditEventType.LOGIN_FAILURE, "john", String.valueOf(i));
+        trail.stop();
+
+        Assertions.assertThat(written).hasSize(100);
+        Assertions.assertThat(count("written")).isEqualTo(100);
+    }
+
+    @Test
+    void record_afterStop_written() {
+        AuditTrail trail = trail(OverflowPolicy.WAIT, 1024, Duration.ofMillis(10));
+        trail.start();
+        trail.stop();
+
+        trail.record(AuditEventType.LOGIN_FAILURE, "john", "late");
+
+        Assertions.assertThat(written).extracting(AuditEvent::detail).containsExactly("late");
+    }
+
+    @Test
+    void record_bufferFull_droppedCounted() {
+        AuditTrail trail = trail(OverflowPolicy.DROP, 8, Duration.ofMillis(10));
+
+        for (int i = 0; i < 10; i++) trail.record(AuditEventType.LOGIN_FAILURE, "john", String.valueOf(i));
+
+        Assertions.assertThat(count("accepted")).isEqualTo(8);
+        Assertions.assertThat(count("dropped")).isEqualTo(2);
+    }
+
+    @Test
+    void record_inTransaction_queuedAfterCommit() {
+        AuditTrail trail = trail(OverflowPolicy.WAIT, 1024, Duration.ofMillis(10));
+        TransactionSynchronizationManager.initSynchronization();
+
+        trail.record(AuditEventType.LOGIN_FAILURE, "john", "committed");
+        Assertions.assertThat(count("accepted")).isZero();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        Assertions.assertThat(count("accepted")).isEqualTo(1);
+    }
+
+    @Test
+    void record_inRolledBackTransaction_notQueued() {
+        AuditTrail trail = trail(OverflowPolicy.WAIT, 1024, Duration.ofMillis(10));
+        TransactionSynchronizationManager.initSynchronization();
+
+        trail.record(AuditEventType.LOGIN_FAILURE, "john", "rolled back");
+        TransactionSynchronizationManager.clearSynchronization();
+
+        Assertions.assertThat(count("accepted")).isZero();
+        Assertions.assertThat(count("dropped")).isZero();
+    }
+
+    private AuditTrail trail(OverflowPolicy overflowPolicy, int capacity, Duration flushInterval) {
+        return new AuditTrail(
+                written::addAll, meterRegistry, capacity, 16, flushInterval, overflowPolicy, Duration.ofMillis(2));
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("identity.audit.events").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,68 @@
+package com.ketealare.identityService.audit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MpscRingBufferTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int PER_PRODUCER = 50_000;
+
+    @Test
+    void offer_full_rejected() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+
+        for (int i = 0; i < buffer.capacity(); i++) Assertions.assertThat(buffer.offer(i)).isTrue();
+
+        Assertions.assertThat(buffer.offer(-1)).isFalse();
+
+        buffer.drain(i -> {}, 1);
+        Assertions.assertThat(buffer.offer(-1)).isTrue();
+    }
+
+    @Test
+    void drain_concurrentProducers_everyElementOnceInProducerOrder() throws InterruptedException {
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+        for (int p = 0; p < PRODUCERS; p++) {
+            long producer = p;
+            producers.submit(() -> {
+                start.await();
+                for (long i = 0; i < PER_PRODUCER; i++) {
+                    while (!buffer.offer(new long[] {producer, i})) Thread.onSpinWait();
+                }
+                return null;
+            });
+        }
+
+        long[] next = new long[PRODUCERS];
+        List<String> errors = new ArrayList<>();
+        int received = 0;
+
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < PRODUCERS * PER_PRODUCER && System.nanoTime() < deadline) {
+            received += buffer.drain(
+                    element -> {
+                        int producer = (int) element[0];
+                        if (element[1] != next[producer]) errors.add(producer + ": " + element[1] + " != " + next[producer]);
+                        next[producer] = element[1] + 1;
+                    },
+                    256);
+        }
+        producers.shutdown();
+
+        Assertions.assertThat(errors).isEmpty();
+        Assertions.assertThat(received).isEqualTo(PRODUCERS * PER_PRODUCER);
+        Assertions.assertThat(buffer.size()).isZero();
+    }
+}
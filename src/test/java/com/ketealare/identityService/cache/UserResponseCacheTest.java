@@ -0,0 +1,43 @@
+package com.ketealare.identityService.cache;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ketealare.identityService.dto.response.UserResponse;
+
+// Two caches on one database stand in for two nodes behind a load balancer
+@SpringBootTest
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:user_cache;MODE=MYSQL;NON_KEYWORDS=USER")
+public class UserResponseCacheTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void generation_sameOnEveryNodeAndMovesWithRoles() {
+        UserResponseCache nodeA = new UserResponseCache(jdbcTemplate, transactionManager);
+        UserResponseCache nodeB = new UserResponseCache(jdbcTemplate, transactionManager);
+        UserResponse response = UserResponse.builder().username("alice").build();
+
+        long before = nodeA.generation();
+        Assertions.assertThat(nodeB.generation()).isEqualTo(before);
+        Assertions.assertThat(nodeA.put("alice", 1, before, response).etag())
+                .isEqualTo(nodeB.put("alice", 1, before, response).etag());
+
+        jdbcTemplate.update("insert into role (name, description, version) values ('AUDITOR', 'Auditor', 0)");
+        nodeA.invalidateAll();
+        nodeB.invalidateAll();
+
+        Assertions.assertThat(nodeA.generation()).isNotEqualTo(before).isEqualTo(nodeB.generation());
+    }
+}
@@ -0,0 +1,32 @@
+package com.ketealare.identityService.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+// Health probes are anonymous, metrics on the application port are not
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource("/test.properties")
+public class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void health_anonymous_allowed() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/health/liveness"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    @Test
+    void prometheus_anonymousOnApplicationPort_unauthenticated() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+    }
+}
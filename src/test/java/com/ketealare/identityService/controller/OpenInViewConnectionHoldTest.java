@@ -0,0 +1,106 @@
+package com.ketealare.identityService.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.ketealare.identityService.IdentityServicesApplication;
+import com.ketealare.identityService.entity.User;
+import com.ketealare.identityService.repository.UserRepository;
+import com.ketealare.identityService.support.ConnectionHoldRecorder;
+
+// The same GET /users/myInfo with open-in-view on and off, after the handler the request is made to take SLOW_VIEW_MS
+public class OpenInViewConnectionHoldTest {
+
+    private static final long SLOW_VIEW_MS = 200;
+
+    @Test
+    void openInViewOff_connectionReleasedBeforeResponse() throws Exception {
+        long withOpenInView = longestHoldDuringRequest(true);
+        long withoutOpenInView = longestHoldDuringRequest(false);
+
+        Assertions.assertThat(withOpenInView).isGreaterThanOrEqualTo(SLOW_VIEW_MS);
+        Assertions.assertThat(withoutOpenInView).isLessThan(SLOW_VIEW_MS);
+    }
+
+    private long longestHoldDuringRequest(boolean openInView) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                        IdentityServicesApplication.class, SlowViewConfig.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:open_in_view_" + openInView
+                                + ";MODE=MYSQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driverClassName=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=sa",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "spring.jpa.open-in-view=" + openInView,
+                        "warmup.enabled=false")
+                .run()) {
+
+            context.getBean(UserRepository.class)
+                    .save(User.builder().username("john").build());
+
+            MockMvc mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                    .apply(SecurityMockMvcConfigurers.springSecurity())
+                    .build();
+
+            ConnectionHoldRecorder recorder = context.getBean(ConnectionHoldRecorder.class);
+            recorder.reset();
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/users/myInfo")
+                            .with(SecurityMockMvcRequestPostProcessors.user("john")))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andExpect(MockMvcResultMatchers.jsonPath("result.username").value("john"));
+
+            return recorder.longestHoldMillis();
+        }
+    }
+
+    // Registered as a source, not annotated, so component scans of other tests do not pick it up
+    static class SlowViewConfig {
+
+        @Bean
+        static ConnectionHoldRecorder connectionHoldRecorder() {
+            return new ConnectionHoldRecorder();
+        }
+
+        // Stands in for slow rendering or a slow client, after the controller returned
+        @Bean
+        WebMvcConfigurer slowView() {
+            return new WebMvcConfigurer() {
+                @Override
+                public void addInterceptors(InterceptorRegistry registry) {
+                    registry.addInterceptor(new HandlerInterceptor() {
+                        @Override
+                        public void postHandle(
+                                HttpServletRequest request,
+                                HttpServletResponse response,
+                                Object handler,
+                                ModelAndView modelAndView)
+                                throws InterruptedException {
+                            Thread.sleep(SLOW_VIEW_MS);
+                        }
+                    });
+                }
+            };
+        }
+    }
+}
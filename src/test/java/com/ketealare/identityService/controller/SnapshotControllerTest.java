@@ -0,0 +1,54 @@
+package com.ketealare.identityService.controller;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.ketealare.identityService.service.SnapshotExportService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource("/test.properties")
+public class SnapshotControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SnapshotExportService snapshotExportService;
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void exportSnapshot_notAdmin_jsonErrorWithoutDownloadHeaders() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/snapshots/export"))
+                .andExpect(MockMvcResultMatchers.status().isForbidden())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION));
+
+        Mockito.verifyNoInteractions(snapshotExportService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportSnapshot_admin_gzipAttachment() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/snapshots/export"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/gzip"))
+                .andExpect(MockMvcResultMatchers.header()
+                        .string(HttpHeaders.CONTENT_DISPOSITION, Matchers.endsWith(".ndjson.gz\"")));
+
+        Mockito.verify(snapshotExportService).exportSnapshot(ArgumentMatchers.any(), ArgumentMatchers.eq(true));
+    }
+}
@@ -0,0 +1,125 @@
+package com.ketealare.identityService.datasource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ketealare.identityService.IdentityServicesApplication;
+import com.ketealare.identityService.dto.response.PermissionResponse;
+import com.ketealare.identityService.entity.Permission;
+import com.ketealare.identityService.identifier.TimeOrderedIds;
+import com.ketealare.identityService.repository.PermissionRepository;
+import com.ketealare.identityService.revocation.RevocationStore;
+import com.ketealare.identityService.service.PermissionService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Two H2 databases stand in for primary and replica, without replication, so every row shows where it went
+public class ReadWriteRoutingTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;MODE=MYSQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;MODE=MYSQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1";
+
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void start() throws SQLException {
+        // Flyway migrates the primary on startup, the replica would get the schema through replication
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "sa")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+        execute(REPLICA_URL, "insert into permission (name, description, version) values ('ON_REPLICA', null, 0)");
+
+        context = new SpringApplicationBuilder(IdentityServicesApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "identity.datasource.routing=true",
+                        "identity.datasource.primary.jdbc-url=" + PRIMARY_URL,
+                        "identity.datasource.primary.username=sa",
+                        "identity.datasource.primary.password=sa",
+                        "identity.datasource.primary.pool-name=primary",
+                        "identity.datasource.replica.jdbc-url=" + REPLICA_URL,
+                        "identity.datasource.replica.username=sa",
+                        "identity.datasource.replica.password=sa",
+                        "identity.datasource.replica.pool-name=replica",
+                        "warmup.enabled=false")
+                .run();
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void readOnlyTransaction_servedByReplica() {
+        var permissions = context.getBean(PermissionService.class).getPermission().stream()
+                .map(PermissionResponse::getName)
+                .toList();
+
+        Assertions.assertThat(permissions).contains("ON_REPLICA");
+    }
+
+    @Test
+    void write_goesToPrimary() throws SQLException {
+        context.getBean(PermissionRepository.class)
+                .save(Permission.builder().name("WRITTEN").build());
+
+        Assertions.assertThat(count(PRIMARY_URL, "WRITTEN")).isEqualTo(1);
+        Assertions.assertThat(count(REPLICA_URL, "WRITTEN")).isZero();
+    }
+
+    @Test
+    void revocationLookup_goesToPrimary() {
+        RevocationStore revocationStore = context.getBean(RevocationStore.class);
+        UUID tokenId = TimeOrderedIds.next();
+
+        revocationStore.revoke(tokenId, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        Assertions.assertThat(revocationStore.isRevoked(tokenId)).isTrue();
+    }
+
+    @Test
+    void saturationGauge_perRoute() {
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+        Assertions.assertThat(registry.find("identity.datasource.saturation").gauges())
+                .hasSize(2);
+    }
+
+    private static void execute(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "sa")) {
+            connection.createStatement().execute(sql);
+        }
+    }
+
+    private static int count(String url, String permission) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "sa");
+                PreparedStatement statement =
+                        connection.prepareStatement("select count(*) from permission where name = ?")) {
+            statement.setString(1, permission);
+
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ketealare.identityService.identifier;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Random varchar(36) keys against UUID version 7 binary(16) keys on InnoDB, run with -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+@Testcontainers
+public class UuidPrimaryKeyBenchmarkTest {
+
+    private static final int ROWS = 200_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int LOOKUPS = 50_000;
+
+    @Container
+    static final MySQLContainer<?> MY_SQL_CONTAINER = new MySQLContainer<>("mysql:8.0.38-debian")
+            .withUrlParam("rewriteBatchedStatements", "true")
+            .withCommand("--innodb-buffer-pool-size=64M");
+
+    @Test
+    void timeOrderedBinaryKeys_smallerAndFasterThanRandomStrings() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                MY_SQL_CONTAINER.getJdbcUrl(), MY_SQL_CONTAINER.getUsername(), MY_SQL_CONTAINER.getPassword())) {
+
+            Result random = run(connection, new KeyLayout("random_char", "char(36)", false));
+            Result ordered = run(connection, new KeyLayout("ordered_binary", "binary(16)", true));
+
+            log.info("{}", random);
+            log.info("{}", ordered);
+
+            Assertions.assertThat(ordered.bytes()).isLessThan(random.bytes());
+        }
+    }
+
+    private Result run(Connection connection, KeyLayout layout) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + layout.table());
+            statement.execute("create table " + layout.table() + " (id " + layout.columnType()
+                    + " not null primary key, username varchar(255), password varchar(255)) engine=InnoDB");
+        }
+
+        List<UUID> ids = new ArrayList<>(ROWS);
+        connection.setAutoCommit(false);
+
+        long insertStart = System.nanoTime();
+        try (PreparedStatement insert =
+                connection.prepareStatement("insert into " + layout.table() + " values (?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                UUID id = layout.timeOrdered() ? TimeOrderedIds.next() : UUID.randomUUID();
+                ids.add(id);
+
+                layout.bind(insert, 1, id);
+                insert.setString(2, "user" + i);
+                insert.setString(3, "$2a$10$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234");
+                insert.addBatch();
+
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        long insertNanos = System.nanoTime() - insertStart;
+        connection.setAutoCommit(true);
+
+        long lookupStart = System.nanoTime();
+        try (PreparedStatement select =
+                connection.prepareStatement("select username from " + layout.table() + " where id = ?")) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < LOOKUPS; i++) {
+                layout.bind(select, 1, ids.get(random.nextInt(ROWS)));
+                try (ResultSet rs = select.executeQuery()) {
+                    Assertions.assertThat(rs.next()).isTrue();
+                }
+            }
+        }
+        long lookupNanos = System.nanoTime() - lookupStart;
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze table " + layout.table());
+            try (ResultSet rs = statement.executeQuery(
+                    "select data_length + index_length from information_schema.tables where table_name = '"
+                            + layout.table() + "'")) {
+                rs.next();
+
+                return new Result(
+                        layout.table(),
+                        ROWS * 1_000_000_000L / insertNanos,
+                        LOOKUPS * 1_000_000_000L / lookupNanos,
+                        rs.getLong(1));
+            }
+        }
+    }
+
+    private record KeyLayout(String table, String columnType, boolean timeOrdered) {
+        void bind(PreparedStatement statement, int index, UUID id) throws SQLException {
+            if (timeOrdered) statement.setBytes(index, TimeOrderedIds.toBytes(id));
+            else statement.setString(index, id.toString());
+        }
+    }
+
+    private record Result(String table, long insertsPerSecond, long lookupsPerSecond, long bytes) {}
+}
@@ -0,0 +1,95 @@
+package com.ketealare.identityService.invalidation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ketealare.identityService.IdentityServicesApplication;
+import com.ketealare.identityService.cache.UserResponseCache;
+import com.ketealare.identityService.dto.response.UserResponse;
+import com.ketealare.identityService.identifier.TimeOrderedIds;
+import com.ketealare.identityService.revocation.RevocationStore;
+
+// Two application contexts in one JVM stand in for two nodes sharing a database
+public class InvalidationConvergenceTest {
+
+    private static final Duration CONVERGENCE = Duration.ofSeconds(5);
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void tokenRevokedOnA_revokedOnB() {
+        UUID tokenId = TimeOrderedIds.next();
+        Instant revokedUntil = Instant.now().plus(1, ChronoUnit.HOURS);
+
+        nodeA.getBean(RevocationStore.class).revoke(tokenId, revokedUntil);
+        nodeA.getBean(InvalidationBus.class).publish(InvalidationEvent.token(tokenId, revokedUntil));
+
+        Awaitility.await()
+                .atMost(CONVERGENCE)
+                .until(() -> nodeB.getBean(RevocationStore.class).isRevoked(tokenId));
+    }
+
+    @Test
+    void tokenRevokedBeforeStart_revokedOnNewNode() {
+        UUID tokenId = TimeOrderedIds.next();
+        Instant revokedUntil = Instant.now().plus(1, ChronoUnit.HOURS);
+
+        nodeA.getBean(RevocationStore.class).revoke(tokenId, revokedUntil);
+        nodeA.getBean(InvalidationBus.class).publish(InvalidationEvent.token(tokenId, revokedUntil));
+
+        try (ConfigurableApplicationContext nodeC = startNode()) {
+            Assertions.assertThat(nodeC.getBean(RevocationStore.class).isRevoked(tokenId)).isTrue();
+        }
+    }
+
+    @Test
+    void rolesChangedOnA_cachedUsersStaleOnB() {
+        UserResponseCache cacheB = nodeB.getBean(UserResponseCache.class);
+        cacheB.put("alice", 1, cacheB.generation(), UserResponse.builder().username("alice").build());
+        Assertions.assertThat(cacheB.get("alice", 1)).isNotNull();
+
+        nodeA.getBean(InvalidationBus.class).publish(InvalidationEvent.allUsers());
+
+        Awaitility.await().atMost(CONVERGENCE).until(() -> cacheB.get("alice", 1) == null);
+    }
+
+    private ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(IdentityServicesApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:invalidation;MODE=MYSQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driverClassName=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=sa",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "identity.invalidation.bus=jdbc",
+                        "identity.invalidation.poll-interval=50ms",
+                        "identity.revocation.store=memory",
+                        "warmup.enabled=false")
+                .run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.ketealare.identityService.invalidation;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:invalidationBus;MODE=MYSQL;NON_KEYWORDS=USER")
+public class JdbcInvalidationBusTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<String> applied = new CopyOnWriteArrayList<>();
+
+    private JdbcInvalidationBus bus;
+
+    @BeforeEach
+    void createBus() {
+        jdbcTemplate.update("delete from invalidation_event");
+        bus = new JdbcInvalidationBus(
+                jdbcTemplate,
+                List.of(event -> applied.add(event.key())),
+                new SimpleMeterRegistry(),
+                Duration.ofHours(1),
+                2,
+                Duration.ofHours(1),
+                Duration.ofHours(1));
+    }
+
+    @Test
+    void poll_gapBelowFullBatches_newerRowsApplied() {
+        for (long seq = 2; seq <= 6; seq++) insert(seq);
+
+        bus.poll();
+        bus.poll();
+        bus.poll();
+
+        Assertions.assertThat(applied).containsExactly("u2", "u3", "u4", "u5", "u6");
+
+        // The late commit of the gap's row is still picked up
+        insert(1);
+        bus.poll();
+
+        Assertions.assertThat(applied).containsExactly("u2", "u3", "u4", "u5", "u6", "u1");
+    }
+
+    @Test
+    void poll_gapOpen_stalenessGrows() throws InterruptedException {
+        insert(2);
+        bus.poll();
+
+        Thread.sleep(100);
+        bus.poll();
+
+        Assertions.assertThat(bus.stalenessMillis()).isGreaterThanOrEqualTo(100);
+    }
+
+    private void insert(long seq) {
+        jdbcTemplate.update(
+                "insert into invalidation_event (seq, kind, entity_key, origin, created_at) values (?, ?, ?, ?, ?)",
+                seq,
+                InvalidationKind.USER.name(),
+                "u" + seq,
+                "other-node",
+                Timestamp.from(Instant.now()));
+    }
+}
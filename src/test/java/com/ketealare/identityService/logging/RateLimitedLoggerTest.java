@@ -0,0 +1,45 @@
+package com.ketealare.identityService.logging;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+
+public class RateLimitedLoggerTest {
+
+    @Test
+    void error_burst_onlyPermitsAreLogged() {
+        Logger delegate = Mockito.mock(Logger.class);
+        Mockito.when(delegate.isErrorEnabled()).thenReturn(true);
+
+        RateLimitedLogger logger = new RateLimitedLogger(delegate, 3, Duration.ofHours(1));
+        RuntimeException exception = new RuntimeException("boom");
+
+        for (int i = 0; i < 100; i++) logger.error("Failed", exception);
+
+        Mockito.verify(delegate, Mockito.times(3)).error("Failed", exception);
+    }
+
+    @Test
+    void error_afterWindow_reportsSuppressedCount() throws InterruptedException {
+        Logger delegate = Mockito.mock(Logger.class);
+        Mockito.when(delegate.isErrorEnabled()).thenReturn(true);
+
+        RateLimitedLogger logger = new RateLimitedLogger(delegate, 1, Duration.ofMillis(20));
+        RuntimeException exception = new RuntimeException("boom");
+
+        logger.error("Failed", exception);
+        logger.error("Failed", exception);
+        logger.error("Failed", exception);
+        Thread.sleep(50);
+        logger.error("Failed", exception);
+
+        Mockito.verify(delegate).error(
+                ArgumentMatchers.eq("{} ({} similar errors suppressed)"),
+                ArgumentMatchers.eq("Failed"),
+                ArgumentMatchers.eq(2L),
+                ArgumentMatchers.eq(exception));
+    }
+}
@@ -0,0 +1,64 @@
+package com.ketealare.identityService.repository;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+// Flyway builds the H2 schema and Hibernate validates the entity mapping against it
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:migration;MODE=MYSQL;NON_KEYWORDS=USER",
+            "spring.jpa.hibernate.ddl-auto=validate"
+        })
+public class SchemaMigrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void username_hasUniqueIndex() throws SQLException {
+        Map<String, Boolean> indexes = indexedColumns("USER");
+
+        Assertions.assertThat(indexes).containsEntry("USERNAME", true);
+    }
+
+    @Test
+    void invalidatedTokenExpiryTime_hasIndex() throws SQLException {
+        Map<String, Boolean> indexes = indexedColumns("INVALIDATED_TOKEN");
+
+        Assertions.assertThat(indexes).containsKey("EXPIRY_TIME");
+    }
+
+    // Column name -> unique, for the first column of every index on the table
+    private Map<String, Boolean> indexedColumns(String table) throws SQLException {
+        Map<String, Boolean> columns = new HashMap<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+
+            try (ResultSet rs = metaData.getIndexInfo(null, "PUBLIC", table, false, false)) {
+                while (rs.next()) {
+                    if (rs.getShort("ORDINAL_POSITION") == 1) {
+                        columns.merge(rs.getString("COLUMN_NAME"), !rs.getBoolean("NON_UNIQUE"), Boolean::logicalOr);
+                    }
+                }
+            }
+        }
+
+        return columns;
+    }
+}
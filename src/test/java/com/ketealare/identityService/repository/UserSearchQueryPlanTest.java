@@ -0,0 +1,127 @@
+package com.ketealare.identityService.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ketealare.identityService.dto.request.UserSearchRequest;
+import com.ketealare.identityService.dto.response.UserResponse;
+import com.ketealare.identityService.dto.response.UserSearchResponse;
+import com.ketealare.identityService.service.UserService;
+import com.ketealare.identityService.support.CapturingStatementInspector;
+import com.ketealare.identityService.support.UserSeeder;
+
+// Runs H2 EXPLAIN on the SQL Hibernate generates for a search, criteria values are inlined so it can be replayed
+@SpringBootTest
+@WithMockUser(authorities = "UPDATE_DATA")
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:search;MODE=MYSQL;NON_KEYWORDS=USER",
+            "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                    + "com.ketealare.identityService.support.CapturingStatementInspector"
+        })
+public class UserSearchQueryPlanTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        if (userRepository.count() == 0) {
+            UserSeeder.seed(jdbcTemplate, 2_000, 5, 2);
+            jdbcTemplate.execute("analyze");
+        }
+    }
+
+    @Test
+    void usernamePrefixAndKeyset_usesUsernameIndex() {
+        String plan = plan(UserSearchRequest.builder().username("user1").after("user15").build());
+
+        Assertions.assertThat(plan).containsIgnoringCase("UK_USER_USERNAME").doesNotContain("tableScan");
+    }
+
+    @Test
+    void dobRange_usesDobIndex() {
+        String plan = plan(UserSearchRequest.builder()
+                .dobFrom(LocalDate.of(1970, 1, 1))
+                .dobTo(LocalDate.of(1970, 12, 31))
+                .build());
+
+        Assertions.assertThat(plan).containsIgnoringCase("IDX_USER_DOB").doesNotContain("tableScan");
+    }
+
+    @Test
+    void role_noTableScan() {
+        String plan = plan(UserSearchRequest.builder().role("SEED_ROLE_2").build());
+
+        Assertions.assertThat(plan).doesNotContain("tableScan");
+    }
+
+    @Test
+    void keysetPages_coverEveryMatchOnce() {
+        UserSearchRequest request =
+                UserSearchRequest.builder().role("SEED_ROLE_1").size(100).count(true).build();
+
+        List<String> usernames = new ArrayList<>();
+        UserSearchResponse page;
+        Long count = null;
+        do {
+            page = userService.searchUsers(request);
+            if (Objects.isNull(count)) count = page.getCount();
+
+            page.getUsers().stream().map(UserResponse::getUsername).forEach(usernames::add);
+            request.setAfter(page.getNext());
+        } while (Objects.nonNull(page.getNext()));
+
+        Integer expected = jdbcTemplate.queryForObject(
+                "select count(*) from user_roles where roles_name = 'SEED_ROLE_1'", Integer.class);
+
+        Assertions.assertThat(usernames).hasSize(expected).doesNotHaveDuplicates().isSorted();
+        Assertions.assertThat(count).isEqualTo(expected.longValue());
+    }
+
+    @Test
+    void countUpTo_singleCountStatementStoppingAtCap() {
+        CapturingStatementInspector.clear();
+        long capped = userRepository.countUpTo(UserSpecifications.usernameStartsWith("user"), 100);
+        List<String> statements = CapturingStatementInspector.statements();
+
+        long exact = userRepository.countUpTo(UserSpecifications.usernameStartsWith("user19"), 1_000);
+        Integer expected =
+                jdbcTemplate.queryForObject("select count(*) from user where username like 'user19%'", Integer.class);
+
+        // The ids stay in the database, one row with the count comes back
+        Assertions.assertThat(capped).isEqualTo(101);
+        Assertions.assertThat(statements).singleElement().asString().containsIgnoringCase("count(");
+        Assertions.assertThat(exact).isEqualTo(expected.longValue());
+    }
+
+    // The first statement of a search is the id query, the row limit is a parameter and is left out
+    private String plan(UserSearchRequest request) {
+        CapturingStatementInspector.clear();
+        userService.searchUsers(request);
+
+        String sql = CapturingStatementInspector.statements().getFirst()
+                .replaceAll("(?i)\\s+(offset \\? rows\\s+)?fetch (first|next) \\? rows only", "");
+
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+    }
+}
@@ -0,0 +1,71 @@
+package com.ketealare.identityService.revocation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ketealare.identityService.identifier.TimeOrderedIds;
+import com.ketealare.identityService.repository.InvalidatedTokenRepository;
+
+@SpringBootTest
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:revocation;MODE=MYSQL;NON_KEYWORDS=USER",
+            "identity.revocation.store=write-behind",
+            "identity.revocation.flush-interval=1h"
+        })
+public class WriteBehindRevocationStoreTest {
+
+    @Autowired
+    private RevocationStore revocationStore;
+
+    @Autowired
+    private InvalidatedTokenRepository invalidatedTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void revoke_answeredLocallyBeforeFlush_persistedAfter() {
+        UUID tokenId = TimeOrderedIds.next();
+
+        revocationStore.revoke(tokenId, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        Assertions.assertThat(revocationStore.isRevoked(tokenId)).isTrue();
+        Assertions.assertThat(rows(tokenId)).isZero();
+
+        ((WriteBehindRevocationStore) revocationStore).flush();
+        // A second revocation of the same token must not break the batch
+        revocationStore.revoke(tokenId, Instant.now().plus(1, ChronoUnit.HOURS));
+        ((WriteBehindRevocationStore) revocationStore).flush();
+
+        Assertions.assertThat(rows(tokenId)).isOne();
+    }
+
+    @Test
+    void revoke_afterStop_writtenImmediately() {
+        WriteBehindRevocationStore store =
+                new WriteBehindRevocationStore(invalidatedTokenRepository, jdbcTemplate, Duration.ofHours(1), 500);
+        store.start();
+        store.stop();
+
+        UUID tokenId = TimeOrderedIds.next();
+        store.revoke(tokenId, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        Assertions.assertThat(rows(tokenId)).isOne();
+    }
+
+    private int rows(UUID tokenId) {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from invalidated_token where id = ?", Integer.class, TimeOrderedIds.toBytes(tokenId));
+    }
+}
@@ -0,0 +1,38 @@
+package com.ketealare.identityService.serialization;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ketealare.identityService.dto.response.ApiResponse;
+import com.ketealare.identityService.dto.response.IntrospectResponse;
+import com.ketealare.identityService.exception.ErrorCode;
+
+public class PrecomputedResponsesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PrecomputedResponses precomputedResponses = new PrecomputedResponses(objectMapper);
+
+    @Test
+    void introspect_sameBytesAsJackson() throws Exception {
+        for (boolean valid : new boolean[] {true, false}) {
+            byte[] expected = objectMapper.writeValueAsBytes(ApiResponse.<IntrospectResponse>builder()
+                    .result(IntrospectResponse.builder().valid(valid).build())
+                    .build());
+
+            Assertions.assertThat(precomputedResponses.introspect(valid)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void error_everyErrorCode_sameBytesAsJackson() throws Exception {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            byte[] expected = objectMapper.writeValueAsBytes(ApiResponse.builder()
+                    .code(errorCode.getCode())
+                    .message(errorCode.getMessage())
+                    .build());
+
+            Assertions.assertThat(precomputedResponses.error(errorCode)).isEqualTo(expected);
+        }
+    }
+}
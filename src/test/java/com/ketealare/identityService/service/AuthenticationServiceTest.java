@@ -0,0 +1,80 @@
+package com.ketealare.identityService.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ketealare.identityService.dto.request.IntrospectRequest;
+import com.ketealare.identityService.dto.request.RefreshTokenRequest;
+import com.ketealare.identityService.entity.User;
+import com.ketealare.identityService.exception.AppException;
+import com.ketealare.identityService.exception.ErrorCode;
+import com.ketealare.identityService.metrics.AuthenticationMetrics;
+
+@SpringBootTest
+@TestPropertySource("/test.properties")
+public class AuthenticationServiceTest {
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private AuthenticationMetrics metrics;
+
+    @Test
+    void verifyToken_eachStageTimedOncePerCall() throws Exception {
+        String token = authenticationService.generateToken(
+                User.builder().username("john").build());
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        long parse = metrics.getTokenParse().count();
+        long mac = metrics.getMacVerify().count();
+        long revocation = metrics.getRevocationLookup().count();
+
+        authenticationService.verifyToken(token, false);
+
+        Assertions.assertThat(metrics.getTokenParse().count()).isEqualTo(parse + 1);
+        Assertions.assertThat(metrics.getMacVerify().count()).isEqualTo(mac + 1);
+        Assertions.assertThat(metrics.getRevocationLookup().count()).isEqualTo(revocation + 1);
+
+        // A bad signature stops before the revocation lookup
+        authenticationService.verifyToken(tampered, false);
+
+        Assertions.assertThat(metrics.getTokenParse().count()).isEqualTo(parse + 2);
+        Assertions.assertThat(metrics.getMacVerify().count()).isEqualTo(mac + 2);
+        Assertions.assertThat(metrics.getRevocationLookup().count()).isEqualTo(revocation + 1);
+    }
+
+    @Test
+    void verifyToken_badTokens_failureReasonWithoutException() throws Exception {
+        String token = authenticationService.generateToken(
+                User.builder().username("john").build());
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        Assertions.assertThat(authenticationService.verifyToken(token, false).valid())
+                .isTrue();
+        Assertions.assertThat(authenticationService.verifyToken("not-a-token", false).failure())
+                .isEqualTo(TokenVerification.Failure.MALFORMED);
+        Assertions.assertThat(authenticationService.verifyToken(tampered, false).failure())
+                .isEqualTo(TokenVerification.Failure.BAD_SIGNATURE);
+
+        var response = authenticationService.introspect(
+                IntrospectRequest.builder().token(tampered).build());
+        Assertions.assertThat(response.isValid()).isFalse();
+    }
+
+    @Test
+    void refreshToken_badToken_unauthenticatedWithoutStackTrace() {
+        var exception = assertThrows(
+                AppException.class,
+                () -> authenticationService.refreshToken(
+                        RefreshTokenRequest.builder().token("not-a-token").build()));
+
+        Assertions.assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.UNAUTHENTICATED);
+        Assertions.assertThat(exception.getStackTrace()).isEmpty();
+    }
+}
@@ -0,0 +1,40 @@
+package com.ketealare.identityService.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ketealare.identityService.dto.request.PermissionRequest;
+import com.ketealare.identityService.exception.AppException;
+import com.ketealare.identityService.exception.ErrorCode;
+import com.ketealare.identityService.repository.PermissionRepository;
+
+@SpringBootTest
+@WithMockUser(roles = "ADMIN")
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:permission;MODE=MYSQL;NON_KEYWORDS=USER")
+public class PermissionServiceTest {
+
+    @Autowired
+    private PermissionService permissionService;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Test
+    void create_existingName_permissionExisted() {
+        var request = PermissionRequest.builder().name("READ_AUDIT").description("Read the audit trail").build();
+        permissionService.create(request);
+
+        var exception = assertThrows(AppException.class, () -> permissionService.create(request));
+
+        Assertions.assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.PERMISSION_EXISTED);
+        Assertions.assertThat(permissionRepository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,105 @@
+package com.ketealare.identityService.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import jakarta.persistence.EntityManager;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ketealare.identityService.dto.request.RoleRequest;
+import com.ketealare.identityService.entity.Permission;
+import com.ketealare.identityService.repository.PermissionRepository;
+import com.ketealare.identityService.support.RoundTripCounter;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Compares JDBC round trips of RoleService.create with and without the batching settings of the prod profile
+@Slf4j
+@SpringBootTest
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:batching;MODE=MYSQL;NON_KEYWORDS=USER",
+            "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+            "spring.jpa.properties.hibernate.order_inserts=true",
+            "spring.jpa.properties.hibernate.order_updates=true"
+        })
+public class RoleServiceBatchingTest {
+
+    private static final int PERMISSIONS = 200;
+
+    @TestConfiguration
+    static class RoundTripConfig {
+        @Bean
+        static RoundTripCounter roundTripCounter() {
+            return new RoundTripCounter();
+        }
+    }
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RoundTripCounter roundTripCounter;
+
+    private Set<String> permissionNames;
+
+    @BeforeEach
+    void initData() {
+        List<Permission> permissions = IntStream.range(0, PERMISSIONS)
+                .mapToObj(i -> Permission.builder().name("PERMISSION_" + i).build())
+                .toList();
+        permissionRepository.saveAll(permissions);
+
+        permissionNames = new HashSet<>(
+                permissions.stream().map(Permission::getName).toList());
+    }
+
+    @Test
+    void create_manyPermissions_fewerRoundTripsWhenBatched() {
+        long unbatched = createRole("UNBATCHED", 1);
+        long batched = createRole("BATCHED", null);
+
+        log.info("Role with {} permissions: {} round trips unbatched, {} batched", PERMISSIONS, unbatched, batched);
+
+        Assertions.assertThat(unbatched).isGreaterThan(PERMISSIONS);
+        Assertions.assertThat(batched).isLessThan(unbatched / 10);
+    }
+
+    private long createRole(String name, Integer jdbcBatchSize) {
+        return transactionTemplate.execute(status -> {
+            // null keeps hibernate.jdbc.batch_size, 1 disables batching for this session only
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            roundTripCounter.reset();
+
+            roleService.create(RoleRequest.builder()
+                    .name(name)
+                    .permissions(permissionNames)
+                    .build());
+            entityManager.flush();
+
+            return roundTripCounter.get();
+        });
+    }
+}
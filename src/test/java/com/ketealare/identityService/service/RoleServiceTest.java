@@ -0,0 +1,42 @@
+package com.ketealare.identityService.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ketealare.identityService.dto.request.RoleRequest;
+import com.ketealare.identityService.exception.AppException;
+import com.ketealare.identityService.exception.ErrorCode;
+import com.ketealare.identityService.repository.RoleRepository;
+
+@SpringBootTest
+@WithMockUser(roles = "ADMIN")
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:role;MODE=MYSQL;NON_KEYWORDS=USER")
+public class RoleServiceTest {
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Test
+    void create_existingName_roleExisted() {
+        var request = RoleRequest.builder().name("AUDITOR").description("Auditor").permissions(Set.of()).build();
+        roleService.create(request);
+
+        var exception = assertThrows(AppException.class, () -> roleService.create(request));
+
+        Assertions.assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.ROLE_EXISTED);
+        Assertions.assertThat(roleRepository.count()).isEqualTo(1);
+    }
+}
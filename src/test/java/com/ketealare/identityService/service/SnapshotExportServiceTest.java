@@ -0,0 +1,154 @@
+package com.ketealare.identityService.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ketealare.identityService.identifier.TimeOrderedIds;
+import com.ketealare.identityService.repository.UserRepository;
+import com.ketealare.identityService.support.UserSeeder;
+
+@SpringBootTest
+@WithMockUser(roles = "ADMIN")
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:snapshot;MODE=MYSQL;NON_KEYWORDS=USER")
+public class SnapshotExportServiceTest {
+
+    private static final int USERS = 30;
+    private static final int ROLES = 3;
+    private static final int PERMISSIONS_PER_ROLE = 2;
+
+    @Autowired
+    private SnapshotExportService snapshotExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        if (userRepository.count() == 0) UserSeeder.seed(jdbcTemplate, USERS, ROLES, PERMISSIONS_PER_ROLE);
+    }
+
+    @Test
+    void exportSnapshot_headerRecordsAndEnd() throws IOException {
+        List<JsonNode> records = parse(export(false));
+
+        JsonNode header = records.getFirst();
+        Assertions.assertThat(header.get("format").asText()).isEqualTo(SnapshotExportService.FORMAT);
+        Assertions.assertThat(header.get("version").asInt()).isEqualTo(SnapshotExportService.FORMAT_VERSION);
+
+        JsonNode end = records.getLast();
+        Assertions.assertThat(end.get("type").asText()).isEqualTo("end");
+        Assertions.assertThat(end.get("records").asLong()).isEqualTo(records.size() - 2);
+
+        Map<String, Long> types = records.subList(1, records.size() - 1).stream()
+                .collect(Collectors.groupingBy(record -> record.get("type").asText(), Collectors.counting()));
+        Assertions.assertThat(types)
+                .containsExactlyInAnyOrderEntriesOf(Map.of(
+                        "permission", (long) ROLES * PERMISSIONS_PER_ROLE,
+                        "role", (long) ROLES,
+                        "role_permission", (long) ROLES * PERMISSIONS_PER_ROLE,
+                        "user", (long) USERS,
+                        "user_role", count("select count(*) from user_roles")));
+    }
+
+    @Test
+    void exportSnapshot_binaryIdsExportedAsUuids() throws IOException {
+        Map<String, String> idsByUsername = parse(export(false)).stream()
+                .filter(record -> record.get("type").asText().equals("user"))
+                .collect(Collectors.toMap(
+                        record -> record.get("username").asText(), record -> record.get("id").asText()));
+
+        UUID user0 = TimeOrderedIds.fromBytes(
+                jdbcTemplate.queryForObject("select id from user where username = 'user0'", byte[].class));
+
+        Assertions.assertThat(idsByUsername).containsEntry("user0", user0.toString());
+        Assertions.assertThat(idsByUsername.values())
+                .map(UUID::fromString)
+                .map(UUID::version)
+                .containsOnly(7);
+    }
+
+    @Test
+    void exportSnapshot_rowVersionsExported() throws IOException {
+        jdbcTemplate.update("update user set version = 7 where username = 'user1'");
+
+        Map<String, Long> userVersions = parse(export(false)).stream()
+                .filter(record -> record.get("type").asText().equals("user"))
+                .collect(Collectors.toMap(
+                        record -> record.get("username").asText(), record -> record.get("version").asLong()));
+
+        Assertions.assertThat(userVersions).containsEntry("user1", 7L).containsEntry("user0", 0L);
+        Assertions.assertThat(parse(export(false)))
+                .filteredOn(record -> record.get("type").asText().matches("permission|role"))
+                .allSatisfy(record -> Assertions.assertThat(record.has("version")).isTrue());
+    }
+
+    @Test
+    void exportSnapshot_gzip_sameLines() throws IOException {
+        List<String> plain = lines(export(false));
+
+        List<String> unzipped;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(export(true)))) {
+            unzipped = lines(in.readAllBytes());
+        }
+
+        // The header carries the export time, every other line must be identical
+        Assertions.assertThat(unzipped).hasSameSizeAs(plain);
+        Assertions.assertThat(unzipped.subList(1, unzipped.size())).isEqualTo(plain.subList(1, plain.size()));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void exportSnapshot_notAdmin_denied() {
+        Assertions.assertThatThrownBy(() -> snapshotExportService.exportSnapshot(new ByteArrayOutputStream(), false))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private byte[] export(boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        snapshotExportService.exportSnapshot(out, gzip);
+        return out.toByteArray();
+    }
+
+    private List<JsonNode> parse(byte[] export) throws IOException {
+        List<JsonNode> records = new ArrayList<>();
+        for (String line : lines(export)) records.add(objectMapper.readTree(line));
+
+        return records;
+    }
+
+    private static List<String> lines(byte[] export) {
+        return new String(export, StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,173 @@
+package com.ketealare.identityService.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ketealare.identityService.constant.PredefinedRole;
+import com.ketealare.identityService.dto.response.UserImportError;
+import com.ketealare.identityService.dto.response.UserImportResponse;
+import com.ketealare.identityService.exception.ErrorCode;
+import com.ketealare.identityService.identifier.TimeOrderedIds;
+
+// A batch size of 3 spreads the rows over several chunks, so duplicates are found both in a chunk and in the DB
+@SpringBootTest
+@WithMockUser(roles = "ADMIN")
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:import;MODE=MYSQL;NON_KEYWORDS=USER",
+            "user-import.batch-size=3"
+        })
+public class UserImportServiceTest {
+
+    private static final MediaType NDJSON = MediaType.valueOf("application/x-ndjson");
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        if (count("select count(*) from role where name = ?", PredefinedRole.USER_ROLE) == 0) {
+            jdbcTemplate.update(
+                    "insert into role (name, description, version) values (?, 'User role', 0)",
+                    PredefinedRole.USER_ROLE);
+            jdbcTemplate.update(
+                    "insert into user (id, username, password, version) values (?, 'existing', 'x', 0)",
+                    TimeOrderedIds.toBytes(TimeOrderedIds.next()));
+        }
+    }
+
+    @Test
+    void splitCsvLine_quotedCommaAndEscapedQuote() {
+        Assertions.assertThat(UserImportService.splitCsvLine("a,\"b, c\",\"d \"\"e\"\"\",,f"))
+                .containsExactly("a", "b, c", "d \"e\"", "", "f");
+    }
+
+    @Test
+    void splitCsvLine_unterminatedQuote_rejected() {
+        Assertions.assertThatThrownBy(() -> UserImportService.splitCsvLine("a,\"b"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void importUsers_csv_badRowsReportedOthersImported() throws IOException {
+        String csv =
+                """
+                username,password,firstName,lastName,dob
+                alice,password1,"Smith, Jr",A,1990-01-01
+                bob,password2,"The ""Builder"\"",B,
+                existing,password3,,,
+                ab,password5,,,
+                carol,password6,"multi
+                line",C,
+                alice,password7,,,
+                dave,password8,,,
+                erin,password9,,,
+                erin,password0,,,
+                """;
+
+        UserImportResponse response = userImportService.importUsers(body(csv), UserImportService.TEXT_CSV);
+
+        Assertions.assertThat(response.getTotal()).isEqualTo(9);
+        Assertions.assertThat(response.getImported()).isEqualTo(4);
+        Assertions.assertThat(response.getFailed()).isEqualTo(5);
+        Assertions.assertThat(errorCodes(response))
+                .containsExactlyInAnyOrderEntriesOf(Map.of(
+                        4L, ErrorCode.USER_EXISTED.getCode(),
+                        5L, ErrorCode.USERNAME_INVALID.getCode(),
+                        6L, ErrorCode.INVALID_IMPORT_ROW.getCode(),
+                        8L, ErrorCode.USER_EXISTED.getCode(),
+                        11L, ErrorCode.USER_EXISTED.getCode()));
+
+        Assertions.assertThat(column("first_name", "alice")).isEqualTo("Smith, Jr");
+        Assertions.assertThat(column("first_name", "bob")).isEqualTo("The \"Builder\"");
+        Assertions.assertThat(passwordEncoder.matches("password1", column("password", "alice"))).isTrue();
+        Assertions.assertThat(count("select count(*) from user where username = 'carol'")).isZero();
+        Assertions.assertThat(count(
+                        "select count(*) from user_roles ur join user u on u.id = ur.user_id"
+                                + " where u.username in ('alice', 'bob', 'dave', 'erin') and ur.roles_name = ?",
+                        PredefinedRole.USER_ROLE))
+                .isEqualTo(4);
+    }
+
+    @Test
+    void importUsers_ndjson_passwordHashStoredAsIs() throws IOException {
+        String hash = passwordEncoder.encode("password1");
+        String ndjson = "{\"username\":\"hashed1\",\"passwordHash\":\"" + hash + "\"}\n"
+                + "{not json\n"
+                + "{\"username\":\"hashed2\",\"passwordHash\":\"not-a-hash\"}\n";
+
+        UserImportResponse response = userImportService.importUsers(body(ndjson), NDJSON);
+
+        Assertions.assertThat(response.getImported()).isEqualTo(1);
+        Assertions.assertThat(errorCodes(response))
+                .containsExactlyInAnyOrderEntriesOf(Map.of(
+                        2L, ErrorCode.INVALID_IMPORT_ROW.getCode(), 3L, ErrorCode.INVALID_IMPORT_ROW.getCode()));
+        Assertions.assertThat(column("password", "hashed1")).isEqualTo(hash);
+    }
+
+    @Test
+    void importUsers_usernamesDifferingInCase_secondReportedChunkKept() throws IOException {
+        String ndjson = "{\"username\":\"Frank\",\"password\":\"password1\"}\n"
+                + "{\"username\":\"frank\",\"password\":\"password2\"}\n"
+                + "{\"username\":\"grace\",\"password\":\"password3\"}\n";
+
+        UserImportResponse response = userImportService.importUsers(body(ndjson), NDJSON);
+
+        // The duplicate is caught before the insert, so the rest of the chunk is not rejected with it
+        Assertions.assertThat(response.getImported()).isEqualTo(2);
+        Assertions.assertThat(errorCodes(response))
+                .containsExactlyEntriesOf(Map.of(2L, ErrorCode.USER_EXISTED.getCode()));
+        Assertions.assertThat(count("select count(*) from user where username in ('Frank', 'grace')")).isEqualTo(2);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void importUsers_notAdmin_denied() {
+        Assertions.assertThatThrownBy(() ->
+                        userImportService.importUsers(body("{\"username\":\"denied\"}\n"), NDJSON))
+                .isInstanceOf(AccessDeniedException.class);
+
+        Assertions.assertThat(count("select count(*) from user where username = 'denied'")).isZero();
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<Long, Integer> errorCodes(UserImportResponse response) {
+        return response.getErrors().stream()
+                .collect(Collectors.toMap(UserImportError::getLine, UserImportError::getCode));
+    }
+
+    private String column(String column, String username) {
+        return jdbcTemplate.queryForObject(
+                "select " + column + " from user where username = ?", String.class, username);
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+}
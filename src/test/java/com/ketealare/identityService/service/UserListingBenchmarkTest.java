@@ -0,0 +1,95 @@
+package com.ketealare.identityService.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ketealare.identityService.dto.response.UserResponse;
+import com.ketealare.identityService.mapper.UserMapper;
+import com.ketealare.identityService.repository.UserRepository;
+import com.ketealare.identityService.support.UserSeeder;
+import com.sun.management.ThreadMXBean;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Entity listing against the projection listing on 100k users, run with -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:listing_benchmark;MODE=MYSQL;NON_KEYWORDS=USER")
+public class UserListingBenchmarkTest {
+
+    private static final int USERS = 100_000;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @WithMockUser(authorities = "UPDATE_DATA")
+    void projection_lessTimeAndAllocationThanEntities() {
+        UserSeeder.seed(jdbcTemplate, USERS, 10, 10);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Supplier<List<UserResponse>> entities = () -> readOnly.execute(status -> userRepository.findAll().stream()
+                .map(userMapper::toUserResponse)
+                .toList());
+        Supplier<List<UserResponse>> projection = userService::getUsers;
+
+        // One untimed run each, so class loading and query plan caching are not measured
+        entities.get();
+        projection.get();
+
+        Result entityResult = measure(entities);
+        Result projectionResult = measure(projection);
+
+        log.info("Entities:   {}", entityResult);
+        log.info("Projection: {}", projectionResult);
+
+        Assertions.assertThat(projectionResult.users()).isEqualTo(USERS);
+        Assertions.assertThat(projectionResult.allocatedBytes()).isLessThan(entityResult.allocatedBytes());
+        Assertions.assertThat(projectionResult.millis()).isLessThan(entityResult.millis());
+    }
+
+    private static Result measure(Supplier<List<UserResponse>> listing) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+
+        int users = listing.get().size();
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        return new Result(users, millis, allocated);
+    }
+
+    private record Result(int users, long millis, long allocatedBytes) {}
+}
@@ -0,0 +1,98 @@
+package com.ketealare.identityService.service;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ketealare.identityService.dto.response.CompactUserListResponse;
+import com.ketealare.identityService.dto.response.UserResponse;
+import com.ketealare.identityService.mapper.UserMapper;
+import com.ketealare.identityService.repository.UserRepository;
+import com.ketealare.identityService.support.RoundTripCounter;
+import com.ketealare.identityService.support.UserSeeder;
+
+// The projection listing must return what mapping the entities returned
+@SpringBootTest
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:projection;MODE=MYSQL;NON_KEYWORDS=USER")
+public class UserListingProjectionTest {
+
+    @TestConfiguration
+    static class RoundTripConfig {
+        @Bean
+        static RoundTripCounter roundTripCounter() {
+            return new RoundTripCounter();
+        }
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RoundTripCounter roundTripCounter;
+
+    @BeforeEach
+    void seed() {
+        if (userRepository.count() == 0) UserSeeder.seed(jdbcTemplate, 50, 3, 4);
+    }
+
+    @Test
+    @WithMockUser(authorities = "UPDATE_DATA")
+    void getUsers_sameResponsesAsEntityMapping() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<UserResponse> expected = readOnly.execute(status -> userRepository.findAll().stream()
+                .map(userMapper::toUserResponse)
+                .toList());
+
+        Assertions.assertThat(sorted(userService.getUsers())).isEqualTo(sorted(expected));
+    }
+
+    @Test
+    @WithMockUser(authorities = "UPDATE_DATA")
+    void getCompactUsers_twoQueriesSameUsersAndRoles() {
+        roundTripCounter.reset();
+        CompactUserListResponse compact = userService.getCompactUsers();
+
+        // Users with role names and the role dictionary, however many users there are
+        Assertions.assertThat(roundTripCounter.get()).isEqualTo(2);
+
+        List<UserResponse> users = userService.getUsers();
+        Assertions.assertThat(compact.getUsers()).hasSameSizeAs(users);
+        Assertions.assertThat(compact.getRoles().values())
+                .containsExactlyInAnyOrderElementsOf(users.stream()
+                        .flatMap(user -> user.getRoles().stream())
+                        .distinct()
+                        .toList());
+    }
+
+    private static List<UserResponse> sorted(List<UserResponse> users) {
+        return users.stream().sorted(Comparator.comparing(UserResponse::getId)).toList();
+    }
+}
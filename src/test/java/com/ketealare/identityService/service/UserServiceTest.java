@@ -3,10 +3,15 @@ package com.ketealare.identityService.service;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,14 +19,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.TestPropertySource;
 
 import com.ketealare.identityService.dto.request.UserCreationRequest;
+import com.ketealare.identityService.dto.request.UserPatchRequest;
 import com.ketealare.identityService.dto.response.UserResponse;
 import com.ketealare.identityService.entity.User;
 import com.ketealare.identityService.exception.AppException;
+import com.ketealare.identityService.exception.ErrorCode;
+import com.ketealare.identityService.repository.RolePermissionRow;
+import com.ketealare.identityService.repository.RoleRepository;
 import com.ketealare.identityService.repository.UserRepository;
+import com.ketealare.identityService.repository.UserRoleRow;
 
 @SpringBootTest
 @TestPropertySource("/test.properties")
@@ -32,6 +43,11 @@ public class UserServiceTest {
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private RoleRepository roleRepository;
+
+    private static final UUID USER_ID = UUID.fromString("0190b6f4-5c3a-7d2e-9a41-cf0600f538b3");
+
     private UserCreationRequest request;
     private UserResponse userResponse;
     private User user;
@@ -51,7 +67,7 @@ public class UserServiceTest {
                 .build();
 
         userResponse = UserResponse.builder()
-                .id("cf0600f538b3")
+                .id(USER_ID.toString())
                 .username("john")
                 .firstName("John")
                 .lastName("Doe")
@@ -59,7 +75,7 @@ public class UserServiceTest {
                 .build();
 
         user = User.builder()
-                .id("cf0600f538b3")
+                .id(USER_ID)
                 .username("john")
                 .firstName("John")
                 .lastName("Doe")
@@ -77,7 +93,7 @@ public class UserServiceTest {
         var response = userService.createUser(request);
         // THEN
 
-        Assertions.assertThat(response.getId()).isEqualTo("cf0600f538b3");
+        Assertions.assertThat(response.getId()).isEqualTo(USER_ID.toString());
         Assertions.assertThat(response.getUsername()).isEqualTo("john");
     }
 
@@ -101,7 +117,7 @@ public class UserServiceTest {
         var response = userService.getMyInfo();
 
         Assertions.assertThat(response.getUsername()).isEqualTo("john");
-        Assertions.assertThat(response.getId()).isEqualTo("cf0600f538b3");
+        Assertions.assertThat(response.getId()).isEqualTo(USER_ID.toString());
     }
 
     @Test
@@ -114,4 +130,114 @@ public class UserServiceTest {
 
         Assertions.assertThat(exception.getErrorCode().getCode()).isEqualTo(1005);
     }
+
+    @Test
+    @WithMockUser(username = "cached")
+    void getMyInfo_versionUnchanged_servedFromCache() {
+        user.setUsername("cached");
+        user.setVersion(3L);
+        when(userRepository.findVersionByUsername("cached")).thenReturn(Optional.of(3L));
+        when(userRepository.findByUsername("cached")).thenReturn(Optional.of(user));
+
+        var first = userService.getVersionedMyInfo();
+        var second = userService.getVersionedMyInfo();
+
+        Assertions.assertThat(second.response().getUsername()).isEqualTo("cached");
+        Assertions.assertThat(second.etag()).isEqualTo(first.etag());
+        verify(userRepository, times(1)).findByUsername("cached");
+    }
+
+    @Test
+    @WithMockUser(username = "john")
+    void patchUser_staleVersion_conflict() {
+        user.setVersion(2L);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+
+        var exception = assertThrows(
+                AppException.class,
+                () -> userService.patchUser(
+                        USER_ID.toString(),
+                        UserPatchRequest.builder().firstName("Johnny").version(1L).build()));
+
+        Assertions.assertThat(exception.getErrorCode().getCode()).isEqualTo(1010);
+    }
+
+    @Test
+    @WithMockUser(username = "john")
+    void patchUser_unchangedFields_noWriteAndPasswordKept() {
+        user.setPassword("stored-hash");
+        user.setVersion(2L);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+
+        var response = userService.patchUser(
+                USER_ID.toString(),
+                UserPatchRequest.builder().firstName("John").version(2L).build());
+
+        Assertions.assertThat(response.getFirstName()).isEqualTo("John");
+        Assertions.assertThat(user.getPassword()).isEqualTo("stored-hash");
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @WithMockUser(username = "jane")
+    void patchUser_otherUser_unauthorized() {
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+
+        var exception = assertThrows(
+                AppException.class,
+                () -> userService.patchUser(
+                        USER_ID.toString(),
+                        UserPatchRequest.builder().firstName("Johnny").build()));
+
+        Assertions.assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.UNAUTHORIZED);
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @WithMockUser(username = "john")
+    void patchUser_ownRolesWithoutAdmin_denied() {
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+
+        assertThrows(
+                AccessDeniedException.class,
+                () -> userService.patchUser(
+                        USER_ID.toString(),
+                        UserPatchRequest.builder().roles(List.of("ADMIN")).build()));
+
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void patchUser_adminOtherUser_applied() {
+        user.setVersion(2L);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var response = userService.patchUser(
+                USER_ID.toString(),
+                UserPatchRequest.builder().firstName("Johnny").build());
+
+        Assertions.assertThat(response.getFirstName()).isEqualTo("Johnny");
+    }
+
+    @Test
+    @WithMockUser(authorities = "UPDATE_DATA")
+    void getCompactUsers_sharedRole_listedOnce() {
+        when(roleRepository.findRolePermissionRows())
+                .thenReturn(List.of(
+                        new RolePermissionRow("USER", "User role", "READ_DATA", null),
+                        new RolePermissionRow("ADMIN", "Admin role", "UPDATE_DATA", null)));
+        when(userRepository.findUserRoleRows())
+                .thenReturn(List.of(
+                        new UserRoleRow(USER_ID, "john", "John", "Doe", dob, 0L, "USER"),
+                        new UserRoleRow(UUID.randomUUID(), "jane", null, null, null, 0L, "USER")));
+
+        var response = userService.getCompactUsers();
+
+        Assertions.assertThat(response.getUsers())
+                .allSatisfy(compact -> Assertions.assertThat(compact.getRoles()).containsExactly("USER"));
+        Assertions.assertThat(response.getRoles()).containsOnlyKeys("USER");
+        Assertions.assertThat(response.getRoles().get("USER").getPermissions()).hasSize(1);
+    }
 }
@@ -0,0 +1,61 @@
+package com.ketealare.identityService.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+// Wraps the DataSource and records the longest time a connection was held between getConnection and close
+public class ConnectionHoldRecorder implements BeanPostProcessor {
+
+    private final AtomicLong longestHoldNanos = new AtomicLong();
+
+    public long longestHoldMillis() {
+        return longestHoldNanos.get() / 1_000_000;
+    }
+
+    public void reset() {
+        longestHoldNanos.set(0);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) return bean;
+
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            return result instanceof Connection connection ? wrap(connection) : result;
+        };
+
+        return Proxy.newProxyInstance(
+                DataSource.class.getClassLoader(), new Class<?>[] {DataSource.class}, handler);
+    }
+
+    private Connection wrap(Connection connection) {
+        long acquired = System.nanoTime();
+
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("close")) {
+                longestHoldNanos.accumulateAndGet(System.nanoTime() - acquired, Math::max);
+            }
+
+            return invoke(connection, method, args);
+        };
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ketealare.identityService.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+// Wraps the DataSource and counts statement executions, one execute/executeBatch call is one round trip
+public class RoundTripCounter implements BeanPostProcessor {
+
+    private final AtomicLong roundTrips = new AtomicLong();
+
+    public long get() {
+        return roundTrips.get();
+    }
+
+    public void reset() {
+        roundTrips.set(0);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource ? wrap(dataSource, DataSource.class) : bean;
+    }
+
+    private <T> T wrap(T target, Class<T> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+
+            if (result instanceof Connection connection) return wrap(connection, Connection.class);
+            if (result instanceof Statement statement) return wrapStatement(statement);
+
+            return result;
+        };
+
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private Statement wrapStatement(Statement statement) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) roundTrips.incrementAndGet();
+
+            return invoke(statement, method, args);
+        };
+
+        // Keep the most specific JDBC interface so PreparedStatement/CallableStatement casts still work
+        Class<?>[] interfaces = {
+            statement instanceof CallableStatement
+                    ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class
+        };
+
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), interfaces, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
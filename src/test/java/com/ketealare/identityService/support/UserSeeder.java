@@ -0,0 +1,61 @@
+package com.ketealare.identityService.support;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ketealare.identityService.identifier.TimeOrderedIds;
+
+// Inserts users, roles and permissions with plain JDBC batches, user i gets role i % roles and every 3rd user a second one
+public final class UserSeeder {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private UserSeeder() {}
+
+    public static void seed(JdbcTemplate jdbcTemplate, int users, int roles, int permissionsPerRole) {
+        for (int r = 0; r < roles; r++) {
+            jdbcTemplate.update("insert into role (name, description, version) values (?, ?, 0)", role(r), "Role " + r);
+
+            for (int p = 0; p < permissionsPerRole; p++) {
+                String permission = role(r) + "_PERMISSION_" + p;
+                jdbcTemplate.update(
+                        "insert into permission (name, description, version) values (?, ?, 0)",
+                        permission,
+                        "Permission " + p);
+                jdbcTemplate.update(
+                        "insert into role_permissions (role_name, permissions_name) values (?, ?)", role(r), permission);
+            }
+        }
+
+        List<Object[]> userRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> userRoleRows = new ArrayList<>(BATCH_SIZE * 2);
+
+        for (int i = 0; i < users; i++) {
+            byte[] id = TimeOrderedIds.toBytes(TimeOrderedIds.next());
+
+            userRows.add(new Object[] {
+                id, "user" + i, "First" + i, "Last" + i, Date.valueOf(LocalDate.of(1960 + i % 40, 1 + i % 12, 1))
+            });
+            userRoleRows.add(new Object[] {id, role(i % roles)});
+            if (i % 3 == 0 && roles > 1) userRoleRows.add(new Object[] {id, role((i + 1) % roles)});
+
+            if (userRows.size() == BATCH_SIZE || i == users - 1) {
+                jdbcTemplate.batchUpdate(
+                        "insert into user (id, username, password, first_name, last_name, dob, version)"
+                                + " values (?, ?, 'x', ?, ?, ?, 0)",
+                        userRows);
+                jdbcTemplate.batchUpdate("insert into user_roles (user_id, roles_name) values (?, ?)", userRoleRows);
+                userRows.clear();
+                userRoleRows.clear();
+            }
+        }
+    }
+
+    private static String role(int index) {
+        return "SEED_ROLE_" + index;
+    }
+}
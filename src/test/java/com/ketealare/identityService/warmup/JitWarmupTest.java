@@ -0,0 +1,42 @@
+package com.ketealare.identityService.warmup;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ketealare.identityService.metrics.AuthenticationMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// The warm-up runs at startup, afterwards the live authentication meters must still be empty
+@SpringBootTest
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:warmup;MODE=MYSQL;NON_KEYWORDS=USER",
+            "warmup.enabled=true",
+            "warmup.max-iterations=200",
+            "warmup.round-size=50",
+            "warmup.bcrypt-iterations=1"
+        })
+public class JitWarmupTest {
+
+    @Autowired
+    private AuthenticationMetrics metrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void warmup_keepsSamplesOutOfLiveMeters() {
+        Assertions.assertThat(meterRegistry.get("identity.warmup.iterations").summary().count())
+                .isEqualTo(1);
+
+        Assertions.assertThat(metrics.getTokenSign().count()).isZero();
+        Assertions.assertThat(metrics.getTokenParse().count()).isZero();
+        Assertions.assertThat(metrics.getMacVerify().count()).isZero();
+        Assertions.assertThat(metrics.getRevocationLookup().count()).isZero();
+    }
+}